@@ -19,7 +19,9 @@ import org.contextmapper.discovery.ContextMapDiscoverer;
 import org.contextmapper.discovery.ContextMapSerializer;
 import org.contextmapper.discovery.model.ContextMap;
 import org.contextmapper.discovery.strategies.boundedcontexts.SpringBootBoundedContextDiscoveryStrategy;
+import org.contextmapper.discovery.strategies.names.ChainedBoundedContextNameMappingStrategy;
 import org.contextmapper.discovery.strategies.names.SeparatorToCamelCaseBoundedContextNameMappingStrategy;
+import org.contextmapper.discovery.strategies.names.SuffixRemovingBoundedContextNameMappingStrategy;
 import org.contextmapper.discovery.strategies.relationships.DockerComposeRelationshipDiscoveryStrategy;
 
 import java.io.File;
@@ -34,14 +36,10 @@ public class LakesideMutualContextMapDiscoverer {
                 .usingRelationshipDiscoveryStrategies(
                         new DockerComposeRelationshipDiscoveryStrategy(new File(System.getProperty("user.home") + "/source/LakesideMutual/")))
                 .usingBoundedContextNameMappingStrategies(
-                        new SeparatorToCamelCaseBoundedContextNameMappingStrategy("-") {
-                            @Override
-                            public String mapBoundedContextName(String s) {
-                                // remove the "Backend" part of the Docker service names to map correctly...
-                                String name = super.mapBoundedContextName(s);
-                                return name.endsWith("Backend") ? name.substring(0, name.length() - 7) : name;
-                            }
-                        });
+                        // remove the "Backend" part of the Docker service names to map correctly...
+                        new ChainedBoundedContextNameMappingStrategy(
+                                new SeparatorToCamelCaseBoundedContextNameMappingStrategy("-"),
+                                new SuffixRemovingBoundedContextNameMappingStrategy("Backend")));
 
         ContextMap contextmap = discoverer.discoverContextMap();
         new ContextMapSerializer().serializeContextMap(contextmap, new File("./src-gen/lakesidemutual.cml"));
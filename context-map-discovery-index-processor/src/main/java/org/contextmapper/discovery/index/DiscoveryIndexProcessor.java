@@ -0,0 +1,238 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.index;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Annotation processor recording the types relevant for the discovery (Spring Boot applications and REST resources)
+ * in the index file {@value #INDEX_LOCATION}. If the index is on the classpath, the discovery library reads it instead
+ * of scanning the classpath.
+ * <p>
+ * The index is a UTF-8 text file with one record per line; the fields of a record are separated by tabs and
+ * URL-encoded:
+ * <ul>
+ * <li>{@code T name superName}: an indexed type (binary names)</li>
+ * <li>{@code A annotation [element value...]}: an annotation (element) of the preceding type</li>
+ * <li>{@code M name descriptor}: a handler method (JVM descriptor) of the preceding type</li>
+ * <li>{@code MA annotation [element value...]}: an annotation (element) of the preceding method</li>
+ * </ul>
+ *
+ * @author Stefan Kapferer
+ */
+@SupportedAnnotationTypes("*")
+public class DiscoveryIndexProcessor extends AbstractProcessor {
+
+    public static final String INDEX_LOCATION = "META-INF/context-map-discovery.index";
+
+    private static final String INDEX_HEADER = "# context-map-discovery index v1";
+    private static final Set<String> INDEXED_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "org.springframework.boot.autoconfigure.SpringBootApplication",
+            "org.springframework.web.bind.annotation.RequestMapping",
+            "org.springframework.web.bind.annotation.GetMapping",
+            "org.springframework.web.bind.annotation.PostMapping",
+            "org.springframework.web.bind.annotation.PutMapping",
+            "org.springframework.web.bind.annotation.PatchMapping",
+            "org.springframework.web.bind.annotation.DeleteMapping"));
+
+    private final Map<String, List<String>> indexedTypes = new TreeMap<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            indexType(type);
+        }
+        return false; // other processors may handle the annotations as well
+    }
+
+    private void indexType(TypeElement type) {
+        for (TypeElement nestedType : ElementFilter.typesIn(type.getEnclosedElements())) {
+            indexType(nestedType);
+        }
+        if (type.getKind() == ElementKind.ANNOTATION_TYPE)
+            return; // composed annotations (such as GetMapping) are no resources
+        List<ExecutableElement> handlerMethods = new ArrayList<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (isIndexed(method))
+                handlerMethods.add(method);
+        }
+        if (!isIndexed(type) && handlerMethods.isEmpty())
+            return;
+
+        List<String> records = new ArrayList<>();
+        records.add(record("T", binaryName(type), superName(type)));
+        records.addAll(annotationRecords("A", type));
+        for (ExecutableElement method : handlerMethods) {
+            records.add(record("M", method.getSimpleName().toString(), descriptorOf(method)));
+            records.addAll(annotationRecords("MA", method));
+        }
+        indexedTypes.put(binaryName(type), records);
+    }
+
+    private boolean isIndexed(Element element) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            if (isIndexedAnnotation((TypeElement) annotation.getAnnotationType().asElement(), new HashSet<>()))
+                return true;
+        }
+        return false;
+    }
+
+    private boolean isIndexedAnnotation(TypeElement annotationType, Set<String> visited) {
+        String name = annotationType.getQualifiedName().toString();
+        if (INDEXED_ANNOTATIONS.contains(name))
+            return true;
+        if (name.startsWith("java.lang.annotation.") || !visited.add(name))
+            return false;
+        for (AnnotationMirror metaAnnotation : annotationType.getAnnotationMirrors()) {
+            if (isIndexedAnnotation((TypeElement) metaAnnotation.getAnnotationType().asElement(), visited))
+                return true;
+        }
+        return false;
+    }
+
+    private List<String> annotationRecords(String kind, Element element) {
+        List<String> records = new ArrayList<>();
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            String annotationName = binaryName((TypeElement) annotation.getAnnotationType().asElement());
+            records.add(record(kind, annotationName));
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> value : annotation.getElementValues().entrySet()) {
+                List<String> fields = new ArrayList<>(Arrays.asList(kind, annotationName, value.getKey().getSimpleName().toString()));
+                collectValues(value.getValue().getValue(), fields);
+                records.add(record(fields.toArray(new String[0])));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Collects String, enum constant and class values (the values recorded when scanning class files).
+     */
+    private void collectValues(Object value, List<String> values) {
+        if (value instanceof String) {
+            values.add((String) value);
+        } else if (value instanceof VariableElement) {
+            values.add(((VariableElement) value).getSimpleName().toString());
+        } else if (value instanceof TypeMirror) {
+            values.add(descriptorOf((TypeMirror) value));
+        } else if (value instanceof List) {
+            for (Object element : (List<?>) value) {
+                collectValues(((AnnotationValue) element).getValue(), values);
+            }
+        }
+    }
+
+    private void writeIndex() {
+        if (indexedTypes.isEmpty())
+            return;
+        try {
+            FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_LOCATION);
+            try (Writer writer = index.openWriter()) {
+                writer.write(INDEX_HEADER + "\n");
+                for (List<String> records : indexedTypes.values()) {
+                    for (String record : records) {
+                        writer.write(record + "\n");
+                    }
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Could not write the discovery index: " + e.getMessage());
+        }
+    }
+
+    private String record(String... fields) {
+        StringJoiner joiner = new StringJoiner("\t");
+        for (String field : fields) {
+            joiner.add(URLEncoder.encode(field, StandardCharsets.UTF_8));
+        }
+        return joiner.toString();
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private String superName(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED)
+            return type.getKind().isInterface() ? "java.lang.Object" : "";
+        return binaryName((TypeElement) ((DeclaredType) superclass).asElement());
+    }
+
+    private String descriptorOf(ExecutableElement method) {
+        StringBuilder sb = new StringBuilder("(");
+        for (VariableElement parameter : method.getParameters()) {
+            sb.append(descriptorOf(parameter.asType()));
+        }
+        return sb.append(')').append(descriptorOf(method.getReturnType())).toString();
+    }
+
+    private String descriptorOf(TypeMirror type) {
+        TypeMirror erasure = processingEnv.getTypeUtils().erasure(type);
+        switch (erasure.getKind()) {
+            case VOID:
+                return "V";
+            case BOOLEAN:
+                return "Z";
+            case BYTE:
+                return "B";
+            case CHAR:
+                return "C";
+            case SHORT:
+                return "S";
+            case INT:
+                return "I";
+            case LONG:
+                return "J";
+            case FLOAT:
+                return "F";
+            case DOUBLE:
+                return "D";
+            case ARRAY:
+                return "[" + descriptorOf(((ArrayType) erasure).getComponentType());
+            case DECLARED:
+                return "L" + binaryName((TypeElement) ((DeclaredType) erasure).asElement()).replace('.', '/') + ";";
+            default:
+                return "Ljava/lang/Object;";
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.index;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DiscoveryIndexProcessorTest {
+
+    @Test
+    public void canIndexApplicationsAndResources(@TempDir Path outputDirectory) throws IOException {
+        // given
+        List<JavaFileObject> sources = Arrays.asList(
+                source("org.springframework.web.bind.annotation.RequestMapping",
+                        "package org.springframework.web.bind.annotation;\n" +
+                                "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n" +
+                                "public @interface RequestMapping { String[] value() default {}; String[] path() default {}; }"),
+                source("org.springframework.web.bind.annotation.GetMapping",
+                        "package org.springframework.web.bind.annotation;\n" +
+                                "@java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)\n" +
+                                "@RequestMapping\n" +
+                                "public @interface GetMapping { String[] value() default {}; }"),
+                source("org.example.CustomerResource",
+                        "package org.example;\n" +
+                                "import org.springframework.web.bind.annotation.*;\n" +
+                                "@RequestMapping(\"/customers\")\n" +
+                                "public class CustomerResource {\n" +
+                                "    @GetMapping(\"/{id}\") public java.util.List<String> getCustomer(String id, int[] filter) { return null; }\n" +
+                                "    public void notAHandler() { }\n" +
+                                "}"),
+                source("org.example.Helper", "package org.example;\npublic class Helper { }"));
+
+        // when
+        boolean success = compile(sources, outputDirectory);
+
+        // then
+        assertTrue(success);
+        List<String> index = Files.readAllLines(outputDirectory.resolve(DiscoveryIndexProcessor.INDEX_LOCATION), StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList(
+                "# context-map-discovery index v1",
+                "T\torg.example.CustomerResource\tjava.lang.Object",
+                "A\torg.springframework.web.bind.annotation.RequestMapping",
+                "A\torg.springframework.web.bind.annotation.RequestMapping\tvalue\t%2Fcustomers",
+                "M\tgetCustomer\t%28Ljava%2Flang%2FString%3B%5BI%29Ljava%2Futil%2FList%3B",
+                "MA\torg.springframework.web.bind.annotation.GetMapping",
+                "MA\torg.springframework.web.bind.annotation.GetMapping\tvalue\t%2F%7Bid%7D"), index);
+    }
+
+    @Test
+    public void doesNotWriteEmptyIndex(@TempDir Path outputDirectory) throws IOException {
+        // when
+        boolean success = compile(Collections.singletonList(source("org.example.Helper", "package org.example;\npublic class Helper { }")), outputDirectory);
+
+        // then
+        assertTrue(success);
+        assertFalse(Files.exists(outputDirectory.resolve(DiscoveryIndexProcessor.INDEX_LOCATION)));
+    }
+
+    private boolean compile(List<JavaFileObject> sources, Path outputDirectory) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(outputDirectory.toFile()));
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null, Collections.singletonList("-proc:only"), null, sources);
+            task.setProcessors(Collections.singletonList(new DiscoveryIndexProcessor()));
+            return task.call();
+        }
+    }
+
+    private JavaFileObject source(String className, String code) {
+        return new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+
+}
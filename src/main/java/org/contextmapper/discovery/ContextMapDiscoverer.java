@@ -17,14 +17,21 @@ package org.contextmapper.discovery;
 
 import org.contextmapper.discovery.model.BoundedContext;
 import org.contextmapper.discovery.model.ContextMap;
+import org.contextmapper.discovery.strategies.boundedcontexts.AbstractBoundedContextDiscoveryStrategy;
 import org.contextmapper.discovery.strategies.boundedcontexts.BoundedContextDiscoveryStrategy;
+import org.contextmapper.discovery.strategies.helper.BytecodeClasspathScanner;
+import org.contextmapper.discovery.strategies.helper.ClasspathIndex;
+import org.contextmapper.discovery.strategies.helper.FatJarClasspathScanner;
+import org.contextmapper.discovery.strategies.helper.IndexedClasspathScanner;
+import org.contextmapper.discovery.strategies.helper.ScanCache;
 import org.contextmapper.discovery.strategies.names.BoundedContextNameMappingStrategy;
 import org.contextmapper.discovery.strategies.names.DefaultBoundedContextNameMappingStrategy;
 import org.contextmapper.discovery.strategies.relationships.RelationshipDiscoveryStrategy;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.List;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Discovers Bounded Contexts and relationships between them with given strategies.
@@ -37,6 +44,14 @@ public class ContextMapDiscoverer {
     private List<BoundedContextDiscoveryStrategy> boundedContextDiscoveryStrategies = new ArrayList<>();
     private List<RelationshipDiscoveryStrategy> relationshipDiscoveryStrategies = new ArrayList<>();
     private List<BoundedContextNameMappingStrategy> boundedContextNameMappingStrategies = new ArrayList<>();
+    private ClasspathIndex classpathIndex;
+    private File scanCacheDirectory;
+    private ForkJoinPool scanPool;
+    private List<Path> fatJars = new ArrayList<>();
+    private boolean fuzzyNameMatching;
+    private Map<String, Optional<BoundedContext>> lookupCache = new HashMap<>();
+    private Map<String, BoundedContext> normalizedNameIndex = new HashMap<>();
+    private int lookupCacheBoundedContextCount = -1;
 
     public ContextMapDiscoverer() {
         this.contextMap = new ContextMap();
@@ -74,6 +89,72 @@ public class ContextMapDiscoverer {
      */
     public ContextMapDiscoverer usingBoundedContextNameMappingStrategies(BoundedContextNameMappingStrategy... boundedContextNameMappingStrategies) {
         this.boundedContextNameMappingStrategies.addAll(Arrays.asList(boundedContextNameMappingStrategies));
+        this.lookupCacheBoundedContextCount = -1;
+        return this;
+    }
+
+    /**
+     * Enables fuzzy name matching in {@link #lookupBoundedContext(String) lookupBoundedContext}: if no Bounded Context
+     * is found with the names provided by the name mapping strategies, the names are compared in their normalized form
+     * (lower case, without separators and other non-alphanumeric characters). Names whose normalized form is shared by
+     * multiple Bounded Contexts are not matched.
+     */
+    public ContextMapDiscoverer usingFuzzyNameMatching() {
+        this.fuzzyNameMatching = true;
+        this.lookupCacheBoundedContextCount = -1;
+        return this;
+    }
+
+    /**
+     * Registers a (pre-built) classpath index which is shared by all Bounded Context discovery strategies that do
+     * not have their own index. By default, the discoverer creates a new index which is built during discovery
+     * (taking the scan cache and parallel scanning settings into account) and closed afterwards. A registered index
+     * is not closed by the discoverer.
+     *
+     * @param classpathIndex the classpath index to be shared by the discovery strategies
+     */
+    public ContextMapDiscoverer usingClasspathIndex(ClasspathIndex classpathIndex) {
+        this.classpathIndex = classpathIndex;
+        return this;
+    }
+
+    /**
+     * Enables the persistent scan cache: the scan results of classpath entries are stored in the given directory
+     * and reused by subsequent runs as long as the entries did not change. Only applies to the index created by the
+     * discoverer (not to an index registered with {@link #usingClasspathIndex(ClasspathIndex)}).
+     *
+     * @param cacheDirectory the directory in which the scan results are cached
+     */
+    public ContextMapDiscoverer usingScanCacheDirectory(File cacheDirectory) {
+        this.scanCacheDirectory = cacheDirectory;
+        return this;
+    }
+
+    /**
+     * Enables parallel classpath scanning: the classpath entries (and the class files of large jars) are scanned on
+     * the given pool. Only applies to the index created by the discoverer (not to an index registered with
+     * {@link #usingClasspathIndex(ClasspathIndex)}).
+     *
+     * @param scanPool the pool on which the classpath is scanned
+     */
+    public ContextMapDiscoverer usingParallelScanning(ForkJoinPool scanPool) {
+        this.scanPool = scanPool;
+        return this;
+    }
+
+    /**
+     * Discovers the Bounded Contexts within the given Spring Boot executable (fat) jars instead of the classpath of
+     * the running JVM. The jars are read in place; nested library jars are not extracted to disk. Only applies to the
+     * index created by the discoverer (not to an index registered with {@link #usingClasspathIndex(ClasspathIndex)}).
+     *
+     * @param fatJars the Spring Boot executable jars to be scanned
+     */
+    public ContextMapDiscoverer usingFatJars(File... fatJars) {
+        for (File fatJar : fatJars) {
+            if (!fatJar.isFile())
+                throw new IllegalArgumentException("The fat jar '" + fatJar + "' does not exist.");
+            this.fatJars.add(fatJar.toPath());
+        }
         return this;
     }
 
@@ -83,13 +164,28 @@ public class ContextMapDiscoverer {
      * @return the Context Map with the discovered Bounded Contexts and relationships
      */
     public ContextMap discoverContextMap() {
-        for (BoundedContextDiscoveryStrategy strategy : boundedContextDiscoveryStrategies) {
-            contextMap.addAllBoundedContexts(strategy.discoverBoundedContexts());
-        }
-        for (RelationshipDiscoveryStrategy strategy : relationshipDiscoveryStrategies) {
-            contextMap.addAllRelationships(strategy.discoverRelationships());
+        // an index created by the discoverer is only used for this discovery and closed afterwards; the index is
+        // passed to the strategies per discovery, so that strategies can be shared by concurrent discoverers
+        ClasspathIndex ownClasspathIndex = null;
+        try {
+            for (BoundedContextDiscoveryStrategy strategy : boundedContextDiscoveryStrategies) {
+                if (strategy instanceof AbstractBoundedContextDiscoveryStrategy) {
+                    AbstractBoundedContextDiscoveryStrategy classpathStrategy = (AbstractBoundedContextDiscoveryStrategy) strategy;
+                    if (classpathIndex == null && ownClasspathIndex == null && !classpathStrategy.hasClasspathIndex())
+                        ownClasspathIndex = createClasspathIndex();
+                    contextMap.addAllBoundedContexts(classpathStrategy.discoverBoundedContextsWith(classpathIndex != null ? classpathIndex : ownClasspathIndex));
+                } else {
+                    contextMap.addAllBoundedContexts(strategy.discoverBoundedContexts());
+                }
+            }
+            for (RelationshipDiscoveryStrategy strategy : relationshipDiscoveryStrategies) {
+                contextMap.addAllRelationships(strategy.discoverRelationships());
+            }
+            return contextMap;
+        } finally {
+            if (ownClasspathIndex != null)
+                ownClasspathIndex.close();
         }
-        return contextMap;
     }
 
     /**
@@ -98,17 +194,69 @@ public class ContextMapDiscoverer {
      * @param name the Bounded Context name to be looked up
      * @return the corresponding Bounded Context or null, if the name was not found
      */
-    public BoundedContext lookupBoundedContext(String name) {
+    public synchronized BoundedContext lookupBoundedContext(String name) {
+        // Bounded Contexts are never removed from the Context Map; the cached results are only valid as long as no
+        // Bounded Context has been added (a name which was not found before may be found now)
+        if (lookupCacheBoundedContextCount != contextMap.getBoundedContextCount()) {
+            lookupCache.clear();
+            if (fuzzyNameMatching)
+                buildNormalizedNameIndex();
+            lookupCacheBoundedContextCount = contextMap.getBoundedContextCount();
+        }
+        Optional<BoundedContext> bc = lookupCache.get(name);
+        if (bc == null) {
+            bc = Optional.ofNullable(mapAndLookupBoundedContext(name));
+            lookupCache.put(name, bc);
+        }
+        return bc.orElse(null);
+    }
+
+    private BoundedContext mapAndLookupBoundedContext(String name) {
+        List<String> mappedNames = new ArrayList<>(boundedContextNameMappingStrategies.size());
         for (BoundedContextNameMappingStrategy strategy : boundedContextNameMappingStrategies) {
-            BoundedContext bc = getBoundedContextByName(strategy.mapBoundedContextName(name));
+            String mappedName = strategy.mapBoundedContextName(name);
+            BoundedContext bc = contextMap.getBoundedContext(mappedName);
+            if (bc != null)
+                return bc;
+            mappedNames.add(mappedName);
+        }
+        if (!fuzzyNameMatching)
+            return null;
+        for (String mappedName : mappedNames) {
+            BoundedContext bc = normalizedNameIndex.get(normalizeName(mappedName));
             if (bc != null)
                 return bc;
         }
         return null;
     }
 
-    private BoundedContext getBoundedContextByName(String name) {
-        return this.contextMap.getBoundedContexts().stream().filter(bc -> bc.getName().equals(name)).findFirst().orElse(null);
+    private void buildNormalizedNameIndex() {
+        normalizedNameIndex.clear();
+        Set<String> ambiguousNames = new HashSet<>();
+        for (BoundedContext bc : contextMap.getBoundedContexts()) {
+            String normalizedName = normalizeName(bc.getName());
+            if (normalizedNameIndex.putIfAbsent(normalizedName, bc) != null)
+                ambiguousNames.add(normalizedName);
+        }
+        normalizedNameIndex.keySet().removeAll(ambiguousNames);
+    }
+
+    private static String normalizeName(String name) {
+        StringBuilder sb = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (Character.isLetterOrDigit(c))
+                sb.append(Character.toLowerCase(c));
+        }
+        return sb.toString();
+    }
+
+    private ClasspathIndex createClasspathIndex() {
+        BytecodeClasspathScanner scanner = fatJars.isEmpty() ? new BytecodeClasspathScanner() : new FatJarClasspathScanner(fatJars);
+        if (scanCacheDirectory != null)
+            scanner.setScanCache(new ScanCache(scanCacheDirectory));
+        scanner.setForkJoinPool(scanPool);
+        return new ClasspathIndex(fatJars.isEmpty() ? new IndexedClasspathScanner(scanner) : scanner);
     }
 
 }
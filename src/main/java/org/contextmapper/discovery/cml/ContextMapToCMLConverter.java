@@ -82,7 +82,9 @@ public class ContextMapToCMLConverter {
         for (org.contextmapper.discovery.model.Service service : inputAggregate.getServices()) {
             aggregate.getServices().add(convert(service));
         }
-        Optional<Entity> rootEntity = aggregate.getDomainObjects().stream().filter(o -> o instanceof Entity).map(o -> (Entity) o)
+        DomainObject explicitRootEntity = inputAggregate.getRootEntity() != null ? domainObjectLookupMap.get(inputAggregate.getRootEntity()) : null;
+        Optional<Entity> rootEntity = explicitRootEntity instanceof Entity ? Optional.of((Entity) explicitRootEntity)
+                : aggregate.getDomainObjects().stream().filter(o -> o instanceof Entity).map(o -> (Entity) o)
                 .filter(e -> e.getName().endsWith("_RootEntity")).findFirst();
         if (rootEntity.isPresent())
             rootEntity.get().setAggregateRoot(true);
@@ -31,6 +31,7 @@ public class Aggregate {
     private String name;
     private Set<DomainObject> domainObjects;
     private Set<Service> services;
+    private DomainObject rootEntity;
     private String discoveryComment;
 
     public Aggregate(String name) {
@@ -80,6 +81,25 @@ public class Aggregate {
         }
     }
 
+    /**
+     * Sets the root entity of the Aggregate (and adds it to the domain objects of the Aggregate).
+     *
+     * @param rootEntity the root entity of the Aggregate
+     */
+    public void setRootEntity(DomainObject rootEntity) {
+        addDomainObject(rootEntity);
+        this.rootEntity = rootEntity;
+    }
+
+    /**
+     * Gets the root entity of the Aggregate.
+     *
+     * @return the root entity of the Aggregate, or null if no root entity has been set
+     */
+    public DomainObject getRootEntity() {
+        return rootEntity;
+    }
+
     /**
      * Adds a service to the Aggregate.
      *
@@ -15,7 +15,9 @@
  */
 package org.contextmapper.discovery.model;
 
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -27,6 +29,7 @@ public class ContextMap {
 
     private Set<BoundedContext> boundedContexts = new HashSet<>();
     private Set<Relationship> relationships = new HashSet<>();
+    private Map<String, BoundedContext> boundedContextsByName = new HashMap<>();
 
     /**
      * Adds a Bounded Context to the Context Map
@@ -34,7 +37,8 @@ public class ContextMap {
      * @param boundedContext the Bounded Context to be added to the Context Map
      */
     public void addBoundedContext(BoundedContext boundedContext) {
-        this.boundedContexts.add(boundedContext);
+        if (this.boundedContexts.add(boundedContext))
+            this.boundedContextsByName.put(boundedContext.getName(), boundedContext);
     }
 
     /**
@@ -43,7 +47,9 @@ public class ContextMap {
      * @param boundedContexts the set of Bounded Contexts to be added to the Context Map
      */
     public void addAllBoundedContexts(Set<BoundedContext> boundedContexts) {
-        this.boundedContexts.addAll(boundedContexts);
+        for (BoundedContext boundedContext : boundedContexts) {
+            addBoundedContext(boundedContext);
+        }
     }
 
     /**
@@ -79,6 +85,25 @@ public class ContextMap {
         return new HashSet<>(boundedContexts);
     }
 
+    /**
+     * Gets the Bounded Context with the given name (without copying the set of Bounded Contexts)
+     *
+     * @param name the name of the Bounded Context
+     * @return the Bounded Context with the given name, or null if the Context Map does not contain such a Bounded Context
+     */
+    public BoundedContext getBoundedContext(String name) {
+        return boundedContextsByName.get(name);
+    }
+
+    /**
+     * Gets the number of Bounded Contexts of the Context Map
+     *
+     * @return the number of Bounded Contexts
+     */
+    public int getBoundedContextCount() {
+        return boundedContexts.size();
+    }
+
     /**
      * Gets the relationships between Bounded Contexts of this Context Map
      *
@@ -16,9 +16,123 @@
 package org.contextmapper.discovery.strategies.boundedcontexts;
 
 import org.contextmapper.discovery.model.BoundedContext;
+import org.contextmapper.discovery.strategies.helper.AnnotationScanner;
+import org.contextmapper.discovery.strategies.helper.ClasspathIndex;
+import org.contextmapper.discovery.strategies.helper.IsolatedClasspathScanner;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 public abstract class AbstractBoundedContextDiscoveryStrategy implements BoundedContextDiscoveryStrategy {
 
+    private ClasspathIndex classpathIndex;
+    private ClasspathIndex defaultClasspathIndex;
+    private List<File> isolatedClasspath;
+    private ClasspathIndex isolatedClasspathIndex;
+    private int isolatedClasspathUsers;
+
+    /**
+     * Sets a (pre-built) classpath index which shall be used to find annotated types and methods. If no index is set,
+     * the strategy uses the index shared by the {@link org.contextmapper.discovery.ContextMapDiscoverer}, or its own
+     * index if it is used standalone.
+     *
+     * @param classpathIndex the classpath index to be used by this strategy
+     */
+    public synchronized void setClasspathIndex(ClasspathIndex classpathIndex) {
+        this.classpathIndex = classpathIndex;
+    }
+
+    /**
+     * Checks whether the strategy has its own classpath index (set explicitly or created for its isolated classpath),
+     * so that a shared index would not be used.
+     *
+     * @return true, if the strategy has its own classpath index. false otherwise.
+     */
+    public synchronized boolean hasClasspathIndex() {
+        return classpathIndex != null || isolatedClasspath != null;
+    }
+
+    /**
+     * Discovers the Bounded Contexts, using the given shared classpath index unless the strategy has its own index
+     * (see {@link #hasClasspathIndex()}). The index is only used for this discovery; it is not stored in the strategy.
+     * Strategies which do not scan the classpath ignore the shared index.
+     *
+     * @param sharedClasspathIndex the classpath index shared by the strategies of a discovery, or null
+     * @return the discovered Bounded Contexts
+     */
+    public Set<BoundedContext> discoverBoundedContextsWith(ClasspathIndex sharedClasspathIndex) {
+        return discoverBoundedContexts();
+    }
+
+    /**
+     * Lets the strategy scan the given jar files and class directories (instead of the classpath of the running JVM)
+     * through a dedicated class loader, which is created for each discovery and closed by
+     * {@link #releaseClasspathIndex()} when the discovery ends. Discoveries running concurrently share the class
+     * loader.
+     *
+     * @param classpath the jar files and class directories to be scanned
+     */
+    protected void useIsolatedClasspath(File... classpath) {
+        this.isolatedClasspath = new ArrayList<>(Arrays.asList(classpath));
+    }
+
+    /**
+     * Checks whether the strategy scans its own, isolated classpath.
+     *
+     * @return true, if the strategy scans an isolated classpath. false otherwise.
+     */
+    protected boolean usesIsolatedClasspath() {
+        return isolatedClasspath != null;
+    }
+
+    /**
+     * Resolves the classpath index of a discovery: the index set for this strategy, the index of its isolated
+     * classpath, the given shared index or (if none is given) an index of the JVM classpath owned by the strategy.
+     * Has to be called once by the strategies at the beginning of the discovery; the returned index is then used
+     * for the whole discovery.
+     *
+     * @param sharedClasspathIndex the classpath index shared by the strategies of a discovery, or null
+     * @return the classpath index to be used by the discovery
+     */
+    protected synchronized ClasspathIndex acquireClasspathIndex(ClasspathIndex sharedClasspathIndex) {
+        if (classpathIndex != null)
+            return classpathIndex;
+        if (isolatedClasspath != null) {
+            // concurrent discoveries share the class loader; it is only closed when the last of them ends
+            if (isolatedClasspathIndex == null)
+                isolatedClasspathIndex = new ClasspathIndex(new IsolatedClasspathScanner(isolatedClasspath.stream().map(File::toPath).collect(Collectors.toList())));
+            isolatedClasspathUsers++;
+            return isolatedClasspathIndex;
+        }
+        if (sharedClasspathIndex != null)
+            return sharedClasspathIndex;
+        if (defaultClasspathIndex == null)
+            defaultClasspathIndex = new ClasspathIndex();
+        return defaultClasspathIndex;
+    }
+
+    /**
+     * Closes the class loader of the isolated classpath (if the strategy uses one and no other discovery is still
+     * using it), so that the loaded classes can be garbage collected. Has to be called by the strategies at the end of
+     * each discovery which acquired a classpath index.
+     */
+    protected synchronized void releaseClasspathIndex() {
+        if (isolatedClasspathUsers > 0)
+            isolatedClasspathUsers--;
+        if (isolatedClasspathIndex != null && isolatedClasspathUsers == 0) {
+            isolatedClasspathIndex.close();
+            isolatedClasspathIndex = null;
+        }
+    }
+
+    protected AnnotationScanner createAnnotationScanner(ClasspathIndex classpathIndex) {
+        return new AnnotationScanner(classpathIndex);
+    }
+
     protected BoundedContext createBoundedContext(String name, String technology) {
         BoundedContext bc = new BoundedContext(name);
         bc.setTechnology(technology);
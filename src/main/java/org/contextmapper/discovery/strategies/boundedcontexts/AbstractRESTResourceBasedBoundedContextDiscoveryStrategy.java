@@ -16,88 +16,163 @@
 package org.contextmapper.discovery.strategies.boundedcontexts;
 
 import org.contextmapper.discovery.model.*;
+import org.contextmapper.discovery.strategies.helper.FieldDescriptor;
+import org.contextmapper.discovery.strategies.helper.ClasspathIndex;
+import org.contextmapper.discovery.strategies.helper.GenericTypeResolver;
 import org.contextmapper.discovery.strategies.helper.ReflectionHelpers;
+import org.contextmapper.discovery.strategies.helper.TypeDescriptor;
+import org.contextmapper.discovery.strategies.helper.UniqueNameAllocator;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 public abstract class AbstractRESTResourceBasedBoundedContextDiscoveryStrategy extends AbstractBoundedContextDiscoveryStrategy {
 
     private static final String AGG_ROOT_ENTITY_POSTFIX = "_RootEntity";
+    private static final Comparator<TypeDescriptor> BY_NAME = Comparator.comparing(TypeDescriptor::getName);
 
-    protected Set<String> aggregateNames;
-    protected ReflectionHelpers reflectionHelpers;
-    protected Map<Aggregate, Map<Class<?>, DomainObject>> domainObjectMap;
-    protected Set<String> discoveredDomainObjectNames;
+    protected final ReflectionHelpers reflectionHelpers;
+    protected final GenericTypeResolver typeResolver;
+    private volatile ExecutorService discoveryExecutor;
+    private volatile int domainModelDepth;
 
     public AbstractRESTResourceBasedBoundedContextDiscoveryStrategy() {
-        this.aggregateNames = new HashSet<>();
         this.reflectionHelpers = new ReflectionHelpers();
-        this.domainObjectMap = new HashMap<>();
-        this.discoveredDomainObjectNames = new HashSet<>();
+        this.typeResolver = new GenericTypeResolver();
     }
 
     /**
-     * Discover Bounded Contexts by certain types representing the contexts.
+     * Enables parallel discovery: the resources of the individual Bounded Contexts (applications) are searched and
+     * analyzed concurrently on the given executor. The Bounded Contexts, Aggregates and domain objects are still
+     * created in a fixed order (sorted by type names), so that the result does not depend on the scheduling.
+     *
+     * @param executor the executor on which the Bounded Contexts are discovered
+     */
+    public AbstractRESTResourceBasedBoundedContextDiscoveryStrategy usingParallelDiscovery(ExecutorService executor) {
+        this.discoveryExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Follows the fields of the value objects derived from the resource methods up to the given depth: field types
+     * within the package of the Bounded Context become value objects as well (instead of attributes with the type
+     * name only). Every type is visited once per Aggregate, so cyclic object graphs are supported. The default depth
+     * is 0 (only the types of the resource method signatures become value objects).
+     *
+     * @param depth the number of field levels to be followed
+     */
+    public AbstractRESTResourceBasedBoundedContextDiscoveryStrategy usingDomainModelDepth(int depth) {
+        if (depth < 0)
+            throw new IllegalArgumentException("The domain model depth must not be negative.");
+        this.domainModelDepth = depth;
+        return this;
+    }
+
+    /**
+     * Registers an additional wrapper type (such as a custom response envelope) which is replaced by its (first) type
+     * argument when deriving value objects from the resource methods. Generic types which are neither registered
+     * wrappers nor collections are taken as they are.
+     *
+     * @param typeName       the fully qualified name of the wrapper type
+     * @param collectionType the collection type represented by the wrapper (such as "List" for a page of elements),
+     *                       or null if it wraps a single element
+     */
+    public AbstractRESTResourceBasedBoundedContextDiscoveryStrategy usingWrapperType(String typeName, String collectionType) {
+        typeResolver.unwrapping(typeName, collectionType);
+        return this;
+    }
+
+    /**
+     * Discover Bounded Contexts by certain types representing the contexts. The state of the discovery (allocated
+     * names and created domain objects) is kept per call, so the strategy can be used for repeated and concurrent
+     * discoveries.
      */
     @Override
     public Set<BoundedContext> discoverBoundedContexts() {
-        Set<BoundedContext> set = new HashSet<>();
-        for (Class<?> type : findBoundedContextTypes()) {
-            String name = type.getSimpleName();
-            if (name.endsWith("Application"))
-                name = name.substring(0, name.length() - 11);
-            BoundedContext bc = createBoundedContext(name, findBoundedContextTechnology(type));
-            bc.addAggregates(discoverAggregates(bc, type.getPackage().getName()));
-            set.add(bc);
+        return discoverBoundedContextsWith(null);
+    }
+
+    @Override
+    public Set<BoundedContext> discoverBoundedContextsWith(ClasspathIndex sharedClasspathIndex) {
+        DiscoveryRun run = new DiscoveryRun(typeResolver, acquireClasspathIndex(sharedClasspathIndex));
+        ExecutorService discoveryExecutor = this.discoveryExecutor;
+        try {
+            List<TypeDescriptor> boundedContextTypes = new ArrayList<>(findBoundedContextTypes(run));
+            boundedContextTypes.sort(BY_NAME);
+            List<Future<List<DiscoveredResource>>> discoveredResources = new ArrayList<>();
+            if (discoveryExecutor != null) {
+                for (TypeDescriptor type : boundedContextTypes) {
+                    discoveredResources.add(discoveryExecutor.submit(() -> discoverResources(run, type.getPackageName())));
+                }
+            }
+            Set<BoundedContext> set = new HashSet<>();
+            for (int i = 0; i < boundedContextTypes.size(); i++) {
+                TypeDescriptor type = boundedContextTypes.get(i);
+                String name = type.getSimpleName();
+                if (name.endsWith("Application"))
+                    name = name.substring(0, name.length() - 11);
+                BoundedContext bc = createBoundedContext(name, findBoundedContextTechnology(type));
+                List<DiscoveredResource> resources = discoveryExecutor != null ? DiscoveryTasks.await(discoveredResources.get(i)) : discoverResources(run, type.getPackageName());
+                bc.addAggregates(createAggregates(run, bc, resources, type.getPackageName()));
+                set.add(bc);
+            }
+            updateDomainObjectAttributesAndReferences(run);
+            return set;
+        } finally {
+            releaseClasspathIndex();
         }
-        updateDomainObjectAttributesAndReferences();
-        return set;
     }
 
     /**
      * Find types representing a Bounded Context.
      */
-    protected abstract Set<Class<?>> findBoundedContextTypes();
+    protected abstract Set<TypeDescriptor> findBoundedContextTypes(DiscoveryRun run);
 
     /**
      * Find the implementation technology of a Bounded Context by the type representing it.
      */
-    protected abstract String findBoundedContextTechnology(Class<?> boundedContextType);
+    protected abstract String findBoundedContextTechnology(TypeDescriptor boundedContextType);
 
     /**
      * Find types representing an Aggregate/resource (within a given package).
      */
-    protected abstract Set<Class<?>> findResourceTypes(String packageName);
+    protected abstract Set<TypeDescriptor> findResourceTypes(DiscoveryRun run, String packageName);
 
     /**
      * Find RESTful HTTP resource path by the given resource type.
      */
-    protected abstract String findResourcePath(Class<?> resourceType);
+    protected abstract String findResourcePath(TypeDescriptor resourceType);
 
     /**
      * Find RESTful HTTP operations by it methods in a given resource type.
      */
-    protected abstract Set<Method> findResourceMethods(Class<?> resourceType);
+    protected abstract Set<Method> findResourceMethods(DiscoveryRun run, Class<?> resourceType);
+
+    private List<DiscoveredResource> discoverResources(DiscoveryRun run, String packageName) {
+        List<TypeDescriptor> resourceTypes = new ArrayList<>(findResourceTypes(run, packageName));
+        resourceTypes.sort(BY_NAME);
+        List<DiscoveredResource> resources = new ArrayList<>();
+        for (TypeDescriptor type : resourceTypes) {
+            String resourcePath = findResourcePath(type);
+            if (resourcePath == null || "".equals(resourcePath))
+                continue;
+            resources.add(new DiscoveredResource(type, resourcePath, discoverMethods(run, run.classpathIndex.loadClass(type), packageName)));
+        }
+        return resources;
+    }
 
-    /**
-     * Discover Aggregates for RESTful HTTP resources (annotated types)
-     */
-    protected Set<Aggregate> discoverAggregates(BoundedContext bc, String packageName) {
+    private Set<Aggregate> createAggregates(DiscoveryRun run, BoundedContext bc, List<DiscoveredResource> resources, String packageName) {
         Set<Aggregate> resultSet = new HashSet<>();
-        for (Class<?> type : findResourceTypes(packageName)) {
-            String resourePath = findResourcePath(type);
-            if (resourePath == null || "".equals(resourePath))
-                continue;
-            Aggregate aggregate = createAggregate(bc, resourePath);
-            this.domainObjectMap.put(aggregate, new HashMap<>());
-            aggregate.addDomainObject(createRootEntity(aggregate.getName()));
-            aggregate.addDomainObjects(discoverValueObjectsByMethods(aggregate, type, packageName));
-            aggregate.setDiscoveryComment("This Aggregate has been created on the basis of the RESTful HTTP controller " + type.getName() + ".");
+        for (DiscoveredResource resource : resources) {
+            Aggregate aggregate = createAggregate(run, bc, resource.path);
+            run.domainObjectMap.put(aggregate, new HashMap<>());
+            aggregate.setRootEntity(createRootEntity(aggregate.getName()));
+            aggregate.addDomainObjects(createValueObjects(run, aggregate, resource.methods, packageName));
+            aggregate.setDiscoveryComment("This Aggregate has been created on the basis of the RESTful HTTP controller " + resource.type.getName() + ".");
             resultSet.add(aggregate);
         }
         return resultSet;
@@ -106,85 +181,115 @@ public abstract class AbstractRESTResourceBasedBoundedContextDiscoveryStrategy e
     /**
      * Create an Aggregate for a RESTful HTTP endpoint/resource.
      */
-    protected Aggregate createAggregate(BoundedContext parentContext, String resourcePath) {
-        return new Aggregate(getAggregateName(parentContext.getName(), resourcePath));
+    protected Aggregate createAggregate(DiscoveryRun run, BoundedContext parentContext, String resourcePath) {
+        return new Aggregate(getAggregateName(run, parentContext.getName(), resourcePath));
     }
 
     protected DomainObject createRootEntity(String aggregateName) {
         return new DomainObject(DomainObjectType.ENTITY, aggregateName + AGG_ROOT_ENTITY_POSTFIX);
     }
 
-    private String getAggregateName(String boundedContextName, String resourcePath) {
+    private String getAggregateName(DiscoveryRun run, String boundedContextName, String resourcePath) {
         String name = resourcePath;
         if (name.startsWith("/"))
             name = name.substring(1);
         name = name.replaceAll("/", "_");
         name = name.replaceAll("-", "_");
+        return run.aggregateNames.allocate(name, boundedContextName);
+    }
 
-        if (this.aggregateNames.contains(name))
-            name = boundedContextName + "_" + name;
-
-        int counter = 1;
-        while (this.aggregateNames.contains(name)) {
-            name = name + "_" + counter;
-            counter++;
+    private List<DiscoveredMethod> discoverMethods(DiscoveryRun run, Class<?> controllerType, String packageName) {
+        List<Method> methods = new ArrayList<>(findResourceMethods(run, controllerType));
+        methods.sort(Comparator.comparing(m -> m.getName() + TypeDescriptor.descriptorOf(m)));
+        List<DiscoveredMethod> discoveredMethods = new ArrayList<>();
+        for (Method method : methods) {
+            DiscoveredMethod discoveredMethod = new DiscoveredMethod(method.getName(), getMethodReturnType(run, method, controllerType, packageName),
+                    getMethodParameterTypes(run, method, controllerType, packageName));
+            if (discoveredMethod.returnType != null)
+                reflectionHelpers.getFieldDescriptors(discoveredMethod.returnType.domainType);
+            discoveredMethod.parameterTypes.forEach(p -> reflectionHelpers.getFieldDescriptors(p.type.domainType));
+            discoveredMethods.add(discoveredMethod);
         }
-
-        this.aggregateNames.add(name);
-        return name;
+        return discoveredMethods;
     }
 
-    protected Set<DomainObject> discoverValueObjectsByMethods(Aggregate aggregate, Class<?> controllerType, String packageName) {
+    private Set<DomainObject> createValueObjects(DiscoveryRun run, Aggregate aggregate, List<DiscoveredMethod> methods, String packageName) {
         Set<DomainObject> valueObjects = new HashSet<>();
-        for (Method method : findResourceMethods(controllerType)) {
-            org.contextmapper.discovery.model.Method aggRootMethod = new org.contextmapper.discovery.model.Method(method.getName());
-            DiscoveredType returnType = getMethodReturnType(method, packageName);
+        Set<Class<?>> signatureTypes = new LinkedHashSet<>();
+        for (DiscoveredMethod method : methods) {
+            org.contextmapper.discovery.model.Method aggRootMethod = new org.contextmapper.discovery.model.Method(method.name);
+            DiscoveredType returnType = method.returnType;
             if (returnType != null) {
-                DomainObject returnTypeObject = createValueObjectFromType(aggregate, returnType.domainType);
+                signatureTypes.add(returnType.domainType);
+                DomainObject returnTypeObject = createValueObjectFromType(run, aggregate, returnType.domainType);
                 valueObjects.add(returnTypeObject);
                 org.contextmapper.discovery.model.Type type = new org.contextmapper.discovery.model.Type(returnTypeObject);
                 type.setCollectionType(returnType.collectionType);
                 aggRootMethod.setReturnType(type);
             }
-            Set<DiscoveredParameterType> parameterTypes = getMethodParameterTypes(method, packageName);
-            Set<Parameter> parameterTypeObjects = createValueObjectParameters(aggregate, parameterTypes.toArray(new DiscoveredParameterType[parameterTypes.size()]));
+            Set<DiscoveredParameterType> parameterTypes = method.parameterTypes;
+            parameterTypes.forEach(p -> signatureTypes.add(p.type.domainType));
+            Set<Parameter> parameterTypeObjects = createValueObjectParameters(run, aggregate, parameterTypes.toArray(new DiscoveredParameterType[parameterTypes.size()]));
             valueObjects.addAll(parameterTypeObjects.stream().filter(p -> p.getType().isDomainObjectType()).map(p -> p.getType().getDomainObjectType()).collect(Collectors.toSet()));
             aggRootMethod.addParameters(parameterTypeObjects);
-            Optional<DomainObject> aggRootEntity = aggregate.getDomainObjects().stream().filter(o -> o.getName().endsWith(AGG_ROOT_ENTITY_POSTFIX)).findFirst();
-            if (aggRootEntity.isPresent())
-                aggRootEntity.get().addMethod(aggRootMethod);
+            if (aggregate.getRootEntity() != null)
+                aggregate.getRootEntity().addMethod(aggRootMethod);
         }
+        valueObjects.addAll(createNestedValueObjects(run, aggregate, signatureTypes, packageName));
         return valueObjects;
     }
 
-    private DiscoveredType getMethodReturnType(Method method, String packageName) {
-        DiscoveredType returnType = null;
-        if (method.getGenericReturnType() instanceof ParameterizedType) {
-            returnType = getType((ParameterizedType) method.getGenericReturnType());
-        } else {
-            returnType = new DiscoveredType(null, method.getReturnType());
+    private Set<DomainObject> createNestedValueObjects(DiscoveryRun run, Aggregate aggregate, Set<Class<?>> signatureTypes, String packageName) {
+        Set<DomainObject> valueObjects = new HashSet<>();
+        Set<Class<?>> visited = new HashSet<>(signatureTypes);
+        List<Class<?>> level = new ArrayList<>(signatureTypes);
+        int domainModelDepth = this.domainModelDepth;
+        for (int depth = 0; depth < domainModelDepth && !level.isEmpty(); depth++) {
+            List<Class<?>> nextLevel = new ArrayList<>();
+            for (Class<?> type : level) {
+                for (FieldDescriptor field : reflectionHelpers.getFieldDescriptors(type)) {
+                    Class<?> fieldType = field.getElementType();
+                    if (isDomainType(fieldType, packageName) && visited.add(fieldType)) {
+                        valueObjects.add(createValueObjectFromType(run, aggregate, fieldType));
+                        nextLevel.add(fieldType);
+                    }
+                }
+            }
+            level = nextLevel;
         }
-        if (returnType != null && returnType.domainType.getPackage().getName().startsWith(packageName))
+        return valueObjects;
+    }
+
+    private boolean isDomainType(Class<?> type, String packageName) {
+        return !type.isPrimitive() && !type.isArray() && type.getPackage() != null && type.getPackage().getName().startsWith(packageName);
+    }
+
+    private DiscoveredType getMethodReturnType(DiscoveryRun run, Method method, Class<?> controllerType, String packageName) {
+        DiscoveredType returnType = resolveType(run, method.getGenericReturnType(), controllerType);
+        if (isDomainType(returnType.domainType, packageName))
             return returnType;
         return null;
     }
 
-    protected Set<DiscoveredParameterType> getMethodParameterTypes(Method method, String packageName) {
-        Set<DiscoveredParameterType> parameterTypes = new HashSet<>();
+    private Set<DiscoveredParameterType> getMethodParameterTypes(DiscoveryRun run, Method method, Class<?> controllerType, String packageName) {
+        Set<DiscoveredParameterType> parameterTypes = new LinkedHashSet<>();
         for (java.lang.reflect.Parameter parameter : method.getParameters()) {
-            if (parameter.getParameterizedType() instanceof ParameterizedType) {
-                parameterTypes.add(new DiscoveredParameterType(parameter.getName(), getType((ParameterizedType) parameter.getParameterizedType())));
-            } else {
-                parameterTypes.add(new DiscoveredParameterType(parameter.getName(), new DiscoveredType(null, parameter.getType())));
-            }
+            DiscoveredType parameterType = resolveType(run, parameter.getParameterizedType(), controllerType);
+            if (isDomainType(parameterType.domainType, packageName))
+                parameterTypes.add(new DiscoveredParameterType(parameter.getName(), parameterType));
         }
-        return parameterTypes.stream().filter(p -> p.type.domainType.getPackage().getName().startsWith(packageName)).collect(Collectors.toSet());
+        return parameterTypes;
+    }
+
+    private DiscoveredType resolveType(DiscoveryRun run, Type type, Class<?> controllerType) {
+        GenericTypeResolver.ResolvedType resolvedType = run.typeResolver.resolve(type, controllerType);
+        return new DiscoveredType(resolvedType.getCollectionType(), resolvedType.getType());
     }
 
-    private Set<Parameter> createValueObjectParameters(Aggregate aggregate, DiscoveredParameterType... parameterTypes) {
+    private Set<Parameter> createValueObjectParameters(DiscoveryRun run, Aggregate aggregate, DiscoveredParameterType... parameterTypes) {
         Set<Parameter> valueObjectParameters = new HashSet<>();
         for (DiscoveredParameterType parameterType : parameterTypes) {
-            org.contextmapper.discovery.model.Type type = new org.contextmapper.discovery.model.Type(createValueObjectFromType(aggregate, parameterType.type.domainType));
+            org.contextmapper.discovery.model.Type type = new org.contextmapper.discovery.model.Type(createValueObjectFromType(run, aggregate, parameterType.type.domainType));
             type.setCollectionType(parameterType.type.collectionType);
             Parameter parameter = new Parameter(parameterType.parameterName, type);
             valueObjectParameters.add(parameter);
@@ -192,97 +297,98 @@ public abstract class AbstractRESTResourceBasedBoundedContextDiscoveryStrategy e
         return valueObjectParameters;
     }
 
-    private DomainObject createValueObjectFromType(Aggregate aggregate, Class<?> type) {
-        if (this.domainObjectMap.get(aggregate).containsKey(type))
-            return this.domainObjectMap.get(aggregate).get(type);
-
-        String valueObjectName = type.getSimpleName();
-        if (this.discoveredDomainObjectNames.contains(valueObjectName))
-            valueObjectName = aggregate.getName() + "_" + valueObjectName;
-        int counter = 1;
-        while (this.discoveredDomainObjectNames.contains(valueObjectName)) {
-            valueObjectName = valueObjectName + "_" + counter;
-            counter++;
-        }
-        this.discoveredDomainObjectNames.add(valueObjectName);
+    private DomainObject createValueObjectFromType(DiscoveryRun run, Aggregate aggregate, Class<?> type) {
+        if (run.domainObjectMap.get(aggregate).containsKey(type))
+            return run.domainObjectMap.get(aggregate).get(type);
+
+        String valueObjectName = run.domainObjectNames.allocate(type.getSimpleName(), aggregate.getName());
         DomainObject domainObject = new DomainObject(DomainObjectType.VALUE_OBJECT, valueObjectName, type.getName());
         domainObject.setDiscoveryComment("This value object has been derived from the class " + type.getName() + ".");
-        this.domainObjectMap.get(aggregate).put(type, domainObject);
+        run.domainObjectMap.get(aggregate).put(type, domainObject);
+        run.globalDomainObjectMap.putIfAbsent(type, domainObject);
         return domainObject;
     }
 
-    private void updateDomainObjectAttributesAndReferences() {
-        for (Map.Entry<Aggregate, Map<Class<?>, DomainObject>> entry : this.domainObjectMap.entrySet()) {
-            entry.getValue().entrySet().forEach(e -> createAttributesAndReferences4DomainObject(e.getValue(), e.getKey()));
+    private void updateDomainObjectAttributesAndReferences(DiscoveryRun run) {
+        for (Map.Entry<Aggregate, Map<Class<?>, DomainObject>> entry : run.domainObjectMap.entrySet()) {
+            entry.getValue().entrySet().forEach(e -> createAttributesAndReferences4DomainObject(run, e.getValue(), e.getKey()));
         }
     }
 
-    private void createAttributesAndReferences4DomainObject(DomainObject domainObject, Class<?> domainObjectType) {
-        for (Field field : reflectionHelpers.getAllFieldsOfType(domainObjectType)) {
-            String collectionType = null;
-            if (reflectionHelpers.isCollectionType(field.getType()))
-                collectionType = field.getType().getSimpleName();
-            Class<?> fieldType = getType(field);
-            String simpleName = fieldType.getSimpleName();
-            if (fieldType.getSimpleName().endsWith("[]")) {
-                simpleName = simpleName.substring(0, simpleName.length() - 2);
-                collectionType = "List";
-            }
+    private void createAttributesAndReferences4DomainObject(DiscoveryRun run, DomainObject domainObject, Class<?> domainObjectType) {
+        for (FieldDescriptor field : reflectionHelpers.getFieldDescriptors(domainObjectType)) {
+            Class<?> fieldType = field.getElementType();
 
-            // reference outside aggregate (only use this if object is not part of aggregate)
-            DomainObject globallySearchedObject = searchDomainObjectInAllAggregates(fieldType);
+            // search in aggregate first; reference outside aggregate only if object is not part of aggregate
+            DomainObject referencedObject = run.domainObjectMap.get(domainObject.getParent()).get(fieldType);
+            if (referencedObject == null)
+                referencedObject = run.globalDomainObjectMap.get(fieldType);
 
-            // search in aggregate first:
-            if (this.domainObjectMap.get(domainObject.getParent()).containsKey(fieldType)) {
-                domainObject.addAttribute(createReference(field.getName(), this.domainObjectMap.get(domainObject.getParent()).get(fieldType), collectionType));
-            } else if (globallySearchedObject != null) {
-                domainObject.addAttribute(createReference(field.getName(), globallySearchedObject, collectionType));
+            if (referencedObject != null) {
+                domainObject.addAttribute(createReference(field.getName(), referencedObject, field.getCollectionType()));
             } else {
-                org.contextmapper.discovery.model.Type simpleType = new org.contextmapper.discovery.model.Type(simpleName);
-                simpleType.setCollectionType(collectionType);
+                org.contextmapper.discovery.model.Type simpleType = new org.contextmapper.discovery.model.Type(field.getElementTypeName());
+                simpleType.setCollectionType(field.getCollectionType());
                 domainObject.addAttribute(new Attribute(simpleType, field.getName()));
             }
         }
     }
 
-    private DomainObject searchDomainObjectInAllAggregates(Class<?> type) {
-        for (Map.Entry<Aggregate, Map<Class<?>, DomainObject>> entry : this.domainObjectMap.entrySet()) {
-            if (entry.getValue().containsKey(type))
-                return entry.getValue().get(type);
-        }
-        return null;
-    }
-
     private Attribute createReference(String name, DomainObject domainObject, String collectionType) {
         org.contextmapper.discovery.model.Type type = new org.contextmapper.discovery.model.Type(domainObject);
         type.setCollectionType(collectionType);
         return new Attribute(type, name);
     }
 
-    private Class<?> getType(Field field) {
-        if (reflectionHelpers.isCollectionType(field.getType())) {
-            return reflectionHelpers.getActualTypesOfParameterizedType((ParameterizedType) field.getGenericType()).iterator().next();
-        } else {
-            return field.getType();
+    /**
+     * The state of a single discovery: the names allocated so far and the domain objects created per Aggregate (and
+     * per type, to resolve references across Aggregates). It is dropped at the end of the discovery, so that the
+     * discovered (and possibly isolated) classes do not stay reachable through the strategy.
+     */
+    protected static class DiscoveryRun {
+        private final UniqueNameAllocator aggregateNames = new UniqueNameAllocator();
+        private final UniqueNameAllocator domainObjectNames = new UniqueNameAllocator();
+        private final Map<Aggregate, Map<Class<?>, DomainObject>> domainObjectMap = new LinkedHashMap<>();
+        private final Map<Class<?>, DomainObject> globalDomainObjectMap = new HashMap<>();
+        private final GenericTypeResolver typeResolver;
+        private final ClasspathIndex classpathIndex;
+
+        DiscoveryRun(GenericTypeResolver typeResolver, ClasspathIndex classpathIndex) {
+            this.typeResolver = new GenericTypeResolver(typeResolver);
+            this.classpathIndex = classpathIndex;
+        }
+
+        /**
+         * Gets the classpath index used by this discovery.
+         *
+         * @return the classpath index of this discovery
+         */
+        public ClasspathIndex getClasspathIndex() {
+            return classpathIndex;
+        }
+    }
+
+    private class DiscoveredResource {
+        private TypeDescriptor type;
+        private String path;
+        private List<DiscoveredMethod> methods;
+
+        DiscoveredResource(TypeDescriptor type, String path, List<DiscoveredMethod> methods) {
+            this.type = type;
+            this.path = path;
+            this.methods = methods;
         }
     }
 
-    private DiscoveredType getType(ParameterizedType type) {
-        if (type.getActualTypeArguments().length < 1)
-            throw new RuntimeException("ParameterizedTypes without parameters not supported!");
-
-        // we assume there is only one return type for now
-        Type paramType = type.getActualTypeArguments()[0];
-
-        if (paramType instanceof ParameterizedType) {
-            return getType((ParameterizedType) paramType);
-        } else if (paramType instanceof Class<?>) {
-            String collectionType = null;
-            if (type.getRawType() instanceof Class<?> && reflectionHelpers.isCollectionType((Class<?>) type.getRawType()))
-                collectionType = ((Class<?>) type.getRawType()).getSimpleName();
-            return new DiscoveredType(collectionType, (Class<?>) paramType);
-        } else {
-            return new DiscoveredType(null, (Class<?>) type.getRawType());
+    private class DiscoveredMethod {
+        private String name;
+        private DiscoveredType returnType;
+        private Set<DiscoveredParameterType> parameterTypes;
+
+        DiscoveredMethod(String name, DiscoveredType returnType, Set<DiscoveredParameterType> parameterTypes) {
+            this.name = name;
+            this.returnType = returnType;
+            this.parameterTypes = parameterTypes;
         }
     }
 
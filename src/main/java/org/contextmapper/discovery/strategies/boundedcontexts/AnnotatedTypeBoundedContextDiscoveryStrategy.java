@@ -16,11 +16,10 @@
 package org.contextmapper.discovery.strategies.boundedcontexts;
 
 import org.contextmapper.discovery.model.BoundedContext;
-import org.contextmapper.discovery.strategies.helper.AnnotationScanner;
-import org.reflections.Reflections;
-import org.reflections.scanners.SubTypesScanner;
-import org.reflections.scanners.TypeAnnotationsScanner;
+import org.contextmapper.discovery.strategies.helper.ClasspathIndex;
+import org.contextmapper.discovery.strategies.helper.TypeDescriptor;
 
+import java.io.File;
 import java.lang.annotation.Annotation;
 import java.util.HashSet;
 import java.util.Set;
@@ -42,13 +41,37 @@ public class AnnotatedTypeBoundedContextDiscoveryStrategy extends AbstractBounde
         this.technology = technology;
     }
 
+    public AnnotatedTypeBoundedContextDiscoveryStrategy(String packageName, Class<? extends Annotation> annotation, String technology, ClasspathIndex classpathIndex) {
+        this(packageName, annotation, technology);
+        setClasspathIndex(classpathIndex);
+    }
+
+    /**
+     * Creates a strategy scanning the given jar files and class directories (instead of the classpath of the running
+     * JVM) through a dedicated class loader, which is closed at the end of the discovery.
+     */
+    public AnnotatedTypeBoundedContextDiscoveryStrategy(String packageName, Class<? extends Annotation> annotation, String technology, File... classpath) {
+        this(packageName, annotation, technology);
+        useIsolatedClasspath(classpath);
+    }
+
     @Override
     public Set<BoundedContext> discoverBoundedContexts() {
-        Set<BoundedContext> set = new HashSet<>();
-        for (Class<?> type : new AnnotationScanner().scanForAnnotatedType(packageName, annotation)) {
-            set.add(createBoundedContext(type.getSimpleName(), technology));
+        return discoverBoundedContextsWith(null);
+    }
+
+    @Override
+    public Set<BoundedContext> discoverBoundedContextsWith(ClasspathIndex sharedClasspathIndex) {
+        ClasspathIndex classpathIndex = acquireClasspathIndex(sharedClasspathIndex);
+        try {
+            Set<BoundedContext> set = new HashSet<>();
+            for (TypeDescriptor type : createAnnotationScanner(classpathIndex).scanForAnnotatedTypeDescriptors(packageName, annotation)) {
+                set.add(createBoundedContext(type.getSimpleName(), technology));
+            }
+            return set;
+        } finally {
+            releaseClasspathIndex();
         }
-        return set;
     }
 
 }
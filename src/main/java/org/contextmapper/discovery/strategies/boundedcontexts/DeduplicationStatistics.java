@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.boundedcontexts;
+
+/**
+ * Statistics about the domain objects shared between Aggregates by the structural deduplication of a discovery run
+ * (see {@link OASBoundedContextDiscoveryStrategy#usingStructuralDeduplication()}).
+ *
+ * @author Stefan Kapferer
+ */
+public class DeduplicationStatistics {
+
+    private int createdDomainObjects;
+    private int sharedDomainObjects;
+
+    synchronized void add(int createdDomainObjects, int sharedDomainObjects) {
+        this.createdDomainObjects += createdDomainObjects;
+        this.sharedDomainObjects += sharedDomainObjects;
+    }
+
+    /**
+     * Gets the number of (canonical) domain objects created.
+     *
+     * @return the number of created domain objects
+     */
+    public synchronized int getCreatedDomainObjects() {
+        return createdDomainObjects;
+    }
+
+    /**
+     * Gets the number of domain objects which have not been created, because a structurally equal domain object
+     * already existed in the Bounded Context.
+     *
+     * @return the number of domain objects replaced by a reference to an existing one
+     */
+    public synchronized int getSharedDomainObjects() {
+        return sharedDomainObjects;
+    }
+
+    /**
+     * Gets the deduplication ratio: the number of domain objects which would have been created without deduplication,
+     * divided by the number of domain objects actually created.
+     *
+     * @return the deduplication ratio (1.0, if no domain object has been shared)
+     */
+    public synchronized double getDeduplicationRatio() {
+        if (createdDomainObjects == 0)
+            return 1.0;
+        return (double) (createdDomainObjects + sharedDomainObjects) / createdDomainObjects;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("%d domain objects created, %d shared (deduplication ratio %.2f)", createdDomainObjects,
+                sharedDomainObjects, getDeduplicationRatio());
+    }
+
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.boundedcontexts;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Helper to wait for the (sub-)tasks of a discovery running on an executor.
+ *
+ * @author Stefan Kapferer
+ */
+final class DiscoveryTasks {
+
+    private DiscoveryTasks() {
+    }
+
+    /**
+     * Waits for the given task and returns its result. Runtime exceptions and errors thrown by the task are rethrown
+     * as they are.
+     */
+    static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("The discovery of the Bounded Contexts has been interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw new RuntimeException("Could not discover the Bounded Contexts.", e.getCause());
+        }
+    }
+
+}
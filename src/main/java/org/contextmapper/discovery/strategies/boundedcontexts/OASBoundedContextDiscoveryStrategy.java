@@ -28,12 +28,18 @@ import io.swagger.v3.parser.core.models.ParseOptions;
 import io.swagger.v3.parser.models.RefType;
 import org.contextmapper.discovery.cml.CMLPrimitiveTypeMapper;
 import org.contextmapper.discovery.model.*;
+import org.contextmapper.discovery.strategies.helper.BoundedContextCache;
+import org.contextmapper.discovery.strategies.helper.ReachableSchemaReader;
+import org.contextmapper.discovery.strategies.helper.UniqueNameAllocator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.yaml.snakeyaml.error.YAMLException;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 /**
  * Discovers Bounded Contexts with OpenAPI specifications as input.
@@ -46,42 +52,138 @@ public class OASBoundedContextDiscoveryStrategy implements BoundedContextDiscove
 
     private static final String JSON_MEDIA_TYPE = "application/json";
 
-    private Set<String> oasLocations;
-    private CMLPrimitiveTypeMapper typeMapper;
-    private Map<Aggregate, Map<String, DomainObject>> domainObjectMap;
-    private OpenAPI currentOAS;
+    private final Set<String> oasLocations;
+    private final CMLPrimitiveTypeMapper typeMapper;
+    private volatile ExecutorService parsingExecutor;
+    private volatile boolean lazySchemaResolution;
+    private volatile BoundedContextCache cache;
+    private volatile boolean structuralDeduplication;
+    private volatile DeduplicationStatistics deduplicationStatistics = new DeduplicationStatistics();
 
     public OASBoundedContextDiscoveryStrategy(String... oasLocations) {
         this.oasLocations = Sets.newHashSet(oasLocations);
         this.typeMapper = new CMLPrimitiveTypeMapper();
-        this.domainObjectMap = new HashMap<>();
+    }
+
+    /**
+     * Enables parallel discovery: the specifications are parsed and converted into Bounded Contexts concurrently on
+     * the given executor.
+     *
+     * @param executor the executor on which the specifications are parsed
+     */
+    public OASBoundedContextDiscoveryStrategy usingParallelParsing(ExecutorService executor) {
+        this.parsingExecutor = executor;
+        return this;
+    }
+
+    /**
+     * Enables the lazy schema resolution for huge specifications: the specifications are streamed and only the
+     * component schemas reachable from the paths (and other components) are parsed. Note that only local schema
+     * references (#/components/schemas/...) are followed in this mode.
+     */
+    public OASBoundedContextDiscoveryStrategy usingLazySchemaResolution() {
+        this.lazySchemaResolution = true;
+        return this;
+    }
+
+    /**
+     * Enables the persistent cache: the Bounded Contexts derived from the specifications are stored in the given
+     * directory and reused by subsequent runs, as long as neither the specifications nor the files they reference
+     * changed. Only specifications located in the file system are cached.
+     *
+     * @param cacheDirectory the directory in which the derived Bounded Contexts are cached
+     */
+    public OASBoundedContextDiscoveryStrategy usingCacheDirectory(File cacheDirectory) {
+        this.cache = new BoundedContextCache(cacheDirectory);
+        return this;
+    }
+
+    /**
+     * Enables the deduplication of domain objects: every referenced schema ($ref) is converted into one canonical
+     * domain object per Bounded Context, and inline schemas with the same name and structure (property names and
+     * types) are shared as well. The domain object belongs to the Aggregate which first referenced it; all other
+     * Aggregates reference it instead of containing a copy. Schemas without properties are never shared.
+     */
+    public OASBoundedContextDiscoveryStrategy usingStructuralDeduplication() {
+        this.structuralDeduplication = true;
+        return this;
+    }
+
+    /**
+     * Gets the statistics of the structural deduplication of the last discovery run. Bounded Contexts read from the
+     * cache (see {@link #usingCacheDirectory(File)}) are not part of the statistics.
+     *
+     * @return the deduplication statistics of the last discovery run
+     */
+    public DeduplicationStatistics getDeduplicationStatistics() {
+        return deduplicationStatistics;
     }
 
     @Override
     public Set<BoundedContext> discoverBoundedContexts() {
         var boundedContexts = Sets.<BoundedContext>newHashSet();
-        for (String location : this.oasLocations) {
-            var parseResult = new OpenAPIV3Parser().readLocation(location, null, new ParseOptions());
-            if (!parseResult.getMessages().isEmpty())
-                LOG.error("Parsing the OAS '" + location + "' resulted in validation errors: " + String.join(", ", parseResult.getMessages()));
-            currentOAS = parseResult.getOpenAPI();
-            if (currentOAS == null)
-                throw new RuntimeException("Could not successfully parse OAS!");
-            boundedContexts.add(discoverBoundedContext(currentOAS));
+        var statistics = new DeduplicationStatistics();
+        ExecutorService executor = this.parsingExecutor;
+        if (executor == null) {
+            for (String location : this.oasLocations) {
+                boundedContexts.add(discoverBoundedContext(location, statistics));
+            }
+        } else {
+            List<Future<BoundedContext>> discoveries = new ArrayList<>();
+            for (String location : this.oasLocations) {
+                discoveries.add(executor.submit(() -> discoverBoundedContext(location, statistics)));
+            }
+            for (Future<BoundedContext> discovery : discoveries) {
+                boundedContexts.add(DiscoveryTasks.await(discovery));
+            }
         }
+        if (structuralDeduplication)
+            LOG.info("Structural deduplication: " + statistics);
+        this.deduplicationStatistics = statistics;
         return boundedContexts;
     }
 
-    private BoundedContext discoverBoundedContext(OpenAPI oas) {
-        var bc = new BoundedContext(oas.getInfo().getTitle());
-        for (Map.Entry<String, PathItem> entry : oas.getPaths().entrySet()) {
-            bc.addAggregate(discoverAggregate(entry.getKey(), entry.getValue()));
+    private BoundedContext discoverBoundedContext(String location, DeduplicationStatistics statistics) {
+        BoundedContextCache cache = this.cache;
+        boolean deduplicate = this.structuralDeduplication;
+        if (cache != null)
+            return cache.getOrDiscover(location, deduplicate ? "deduplicated-by-ref" : "", () -> parseAndDiscoverBoundedContext(location, deduplicate, statistics));
+        return parseAndDiscoverBoundedContext(location, deduplicate, statistics);
+    }
+
+    private BoundedContext parseAndDiscoverBoundedContext(String location, boolean deduplicate, DeduplicationStatistics statistics) {
+        var parseResult = lazySchemaResolution ? new OpenAPIV3Parser().readContents(readReachableSchemas(location), null, new ParseOptions())
+                : new OpenAPIV3Parser().readLocation(location, null, new ParseOptions());
+        if (!parseResult.getMessages().isEmpty())
+            LOG.error("Parsing the OAS '" + location + "' resulted in validation errors: " + String.join(", ", parseResult.getMessages()));
+        var oas = parseResult.getOpenAPI();
+        if (oas == null)
+            throw new RuntimeException("Could not successfully parse OAS!");
+        var run = new DiscoveryRun(oas, deduplicate);
+        var bc = discoverBoundedContext(run);
+        statistics.add(run.createdDomainObjects, run.sharedDomainObjects);
+        return bc;
+    }
+
+    private String readReachableSchemas(String location) {
+        try {
+            return new ReachableSchemaReader().read(location);
+        } catch (IOException | YAMLException e) {
+            throw new RuntimeException("Could not read the OAS '" + location + "'.", e);
+        }
+    }
+
+    private BoundedContext discoverBoundedContext(DiscoveryRun run) {
+        var bc = new BoundedContext(run.oas.getInfo().getTitle());
+        for (Map.Entry<String, PathItem> entry : run.oas.getPaths().entrySet()) {
+            bc.addAggregate(discoverAggregate(run, entry.getKey(), entry.getValue()));
         }
         return bc;
     }
 
-    private Aggregate discoverAggregate(String pathItemKey, PathItem pathItem) {
-        var aggregateName = pathItemKey.substring(1).replace("/", "_"); // path key must start with '/'!
+    private Aggregate discoverAggregate(DiscoveryRun run, String pathItemKey, PathItem pathItem) {
+        // path key must start with '/'! (paths such as '/a/b' and '/a_b' must not be merged into one Aggregate)
+        var aggregateName = run.aggregateNames.allocate(pathItemKey.substring(1).replace("/", "_"));
         var aggregate = new Aggregate(aggregateName);
         aggregate.setDiscoveryComment(pathItem.getSummary());
 
@@ -89,14 +191,14 @@ public class OASBoundedContextDiscoveryStrategy implements BoundedContextDiscove
         service.setDiscoveryComment("This service contains all operations of the following endpoint: " + pathItemKey);
         aggregate.addService(service);
 
-        addOperationToService(service, discoverOperation(aggregate, pathItem.getGet()));
-        addOperationToService(service, discoverOperation(aggregate, pathItem.getPut()));
-        addOperationToService(service, discoverOperation(aggregate, pathItem.getPost()));
-        addOperationToService(service, discoverOperation(aggregate, pathItem.getDelete()));
-        addOperationToService(service, discoverOperation(aggregate, pathItem.getOptions()));
-        addOperationToService(service, discoverOperation(aggregate, pathItem.getHead()));
-        addOperationToService(service, discoverOperation(aggregate, pathItem.getPatch()));
-        addOperationToService(service, discoverOperation(aggregate, pathItem.getTrace()));
+        addOperationToService(service, discoverOperation(run, aggregate, pathItem.getGet()));
+        addOperationToService(service, discoverOperation(run, aggregate, pathItem.getPut()));
+        addOperationToService(service, discoverOperation(run, aggregate, pathItem.getPost()));
+        addOperationToService(service, discoverOperation(run, aggregate, pathItem.getDelete()));
+        addOperationToService(service, discoverOperation(run, aggregate, pathItem.getOptions()));
+        addOperationToService(service, discoverOperation(run, aggregate, pathItem.getHead()));
+        addOperationToService(service, discoverOperation(run, aggregate, pathItem.getPatch()));
+        addOperationToService(service, discoverOperation(run, aggregate, pathItem.getTrace()));
 
         return aggregate;
     }
@@ -106,7 +208,7 @@ public class OASBoundedContextDiscoveryStrategy implements BoundedContextDiscove
             service.addOperation(operation);
     }
 
-    private Method discoverOperation(Aggregate aggregate, Operation oasOperation) {
+    private Method discoverOperation(DiscoveryRun run, Aggregate aggregate, Operation oasOperation) {
         if (oasOperation == null || oasOperation.getOperationId() == null || "".equals(oasOperation.getOperationId()))
             return null;
 
@@ -115,7 +217,7 @@ public class OASBoundedContextDiscoveryStrategy implements BoundedContextDiscove
         // parameters
         if (oasOperation.getParameters() != null) {
             for (io.swagger.v3.oas.models.parameters.Parameter parameter : oasOperation.getParameters()) {
-                operation.addParameter(discoverParameter(aggregate, parameter));
+                operation.addParameter(discoverParameter(run, aggregate, parameter));
             }
         }
 
@@ -123,7 +225,7 @@ public class OASBoundedContextDiscoveryStrategy implements BoundedContextDiscove
         if (oasOperation.getRequestBody() != null && oasOperation.getRequestBody().getContent() != null &&
                 oasOperation.getRequestBody().getContent().containsKey(JSON_MEDIA_TYPE)) {
             operation.addParameter(new Parameter("input",
-                    createType4JSONContent(oasOperation.getRequestBody().getContent(), aggregate,
+                    createType4JSONContent(run, oasOperation.getRequestBody().getContent(), aggregate,
                             formatTypeName(oasOperation.getOperationId() + "ParameterType"))));
         }
 
@@ -133,44 +235,40 @@ public class OASBoundedContextDiscoveryStrategy implements BoundedContextDiscove
             ApiResponse response = oasOperation.getResponses().get(responseKey);
             // we currently only support json; TODO: implement more generic solution
             if (response.getContent() != null && response.getContent().containsKey(JSON_MEDIA_TYPE))
-                operation.setReturnType(createType4JSONContent(response.getContent(), aggregate, oasOperation.getOperationId() + "ReturnType"));
+                operation.setReturnType(createType4JSONContent(run, response.getContent(), aggregate, oasOperation.getOperationId() + "ReturnType"));
         }
 
         return operation;
     }
 
-    private Parameter discoverParameter(Aggregate aggregate, io.swagger.v3.oas.models.parameters.Parameter oasParameter) {
+    private Parameter discoverParameter(DiscoveryRun run, Aggregate aggregate, io.swagger.v3.oas.models.parameters.Parameter oasParameter) {
         var schema = oasParameter.getSchema();
         if (isRefSchema(schema))
-            schema = resolveSchemaByRef(schema.get$ref());
-        return new Parameter(oasParameter.getName(), createType4Schema(aggregate, schema, oasParameter.getName() + "Type"));
+            schema = resolveSchemaByRef(run, schema.get$ref());
+        return new Parameter(oasParameter.getName(), createType4Schema(run, aggregate, schema, oasParameter.getName() + "Type"));
     }
 
-    private Type createType4JSONContent(Content content, Aggregate aggregate, String inputTypeName) {
-        Schema schema = content.get(JSON_MEDIA_TYPE).getSchema();
-        var typeName = inputTypeName;
-        if (isRefSchema(schema)) {
-            typeName = getTypeNameFromSchemaRef(schema.get$ref());
-            schema = resolveSchemaByRef(schema.get$ref());
-        }
-        return createType4Schema(aggregate, schema, typeName);
+    private Type createType4JSONContent(DiscoveryRun run, Content content, Aggregate aggregate, String inputTypeName) {
+        return createType4Schema(run, aggregate, content.get(JSON_MEDIA_TYPE).getSchema(), inputTypeName);
     }
 
-    private Type createType4Schema(Aggregate aggregate, Schema inputSchema, String inputTypeName) {
+    private Type createType4Schema(DiscoveryRun run, Aggregate aggregate, Schema inputSchema, String inputTypeName) {
         var schema = inputSchema;
         var typeName = inputTypeName;
+        String ref = null;
         if (isRefSchema(schema)) {
-            typeName = getTypeNameFromSchemaRef(schema.get$ref());
-            schema = resolveSchemaByRef(schema.get$ref());
+            ref = schema.get$ref();
+            typeName = getTypeNameFromSchemaRef(ref);
+            schema = resolveSchemaByRef(run, ref);
         }
 
         switch (schema.getType()) {
             case "object":
-                DomainObject object = createEntity4Schema(aggregate, formatTypeName(typeName), schema);
+                DomainObject object = createEntity4Schema(run, aggregate, formatTypeName(typeName), schema, ref);
                 return new Type(object);
             case "array":
                 ArraySchema arraySchema = (ArraySchema) schema;
-                Type type = createType4Schema(aggregate, arraySchema.getItems(), typeName);
+                Type type = createType4Schema(run, aggregate, arraySchema.getItems(), typeName);
                 type.setCollectionType("List");
                 return type;
             default:
@@ -178,36 +276,105 @@ public class OASBoundedContextDiscoveryStrategy implements BoundedContextDiscove
         }
     }
 
-    private DomainObject createEntity4Schema(Aggregate aggregate, String objectName, Schema objectSchema) {
-        if (!domainObjectMap.containsKey(aggregate))
-            domainObjectMap.put(aggregate, new HashMap<>());
-
-        // don't create a new object, if an entity with that name already exists
-        if (domainObjectMap.get(aggregate).containsKey(objectName))
-            return domainObjectMap.get(aggregate).get(objectName);
+    private DomainObject createEntity4Schema(DiscoveryRun run, Aggregate aggregate, String objectName, Schema objectSchema, String ref) {
+        var domainObjects = run.domainObjectMap.computeIfAbsent(aggregate, a -> new HashMap<>());
+
+        // don't create a new object, if an entity with that name already exists (or the referenced schema is currently converted)
+        if (domainObjects.containsKey(objectName))
+            return domainObjects.get(objectName);
+        if (ref != null && run.refsInProgress.containsKey(ref))
+            return run.refsInProgress.get(ref);
+        String deduplicationKey = null;
+        if (run.canonicalDomainObjects != null)
+            deduplicationKey = getDeduplicationKey(run, objectName, objectSchema, ref);
+        if (deduplicationKey != null) {
+            var canonicalDomainObject = run.canonicalDomainObjects.get(deduplicationKey);
+            if (canonicalDomainObject != null) {
+                domainObjects.put(objectName, canonicalDomainObject);
+                run.sharedDomainObjects++;
+                return canonicalDomainObject;
+            }
+        }
 
-        // create entity
+        // create entity; it is registered before its properties are converted, so that recursive schemas become references
         var domainObject = new DomainObject(DomainObjectType.ENTITY, objectName);
-        for (String propertyKey : (Set<String>) objectSchema.getProperties().keySet()) {
-            var property = (Schema) objectSchema.getProperties().get(propertyKey);
-            if (isRefSchema(property))
-                property = resolveSchemaByRef(property.get$ref());
-            Type type = null;
-            switch (property.getType()) {
-                case "object":
-                    type = new Type(createEntity4Schema(aggregate, formatTypeName(propertyKey + "Type"), property));
-                    break;
-                default:
-                    type = new Type(typeMapper.mapType(property.getType()));
+        domainObjects.put(objectName, domainObject);
+        run.createdDomainObjects++;
+        if (deduplicationKey != null)
+            run.canonicalDomainObjects.put(deduplicationKey, domainObject);
+        if (ref != null)
+            run.refsInProgress.put(ref, domainObject);
+        if (objectSchema.getProperties() != null) {
+            for (String propertyKey : (Set<String>) objectSchema.getProperties().keySet()) {
+                var property = (Schema) objectSchema.getProperties().get(propertyKey);
+                domainObject.addAttribute(new Attribute(createType4Property(run, aggregate, propertyKey, property), propertyKey));
             }
-            domainObject.addAttribute(new Attribute(type, propertyKey));
         }
+        if (ref != null)
+            run.refsInProgress.remove(ref);
 
         aggregate.addDomainObject(domainObject);
-        domainObjectMap.get(aggregate).put(objectName, domainObject);
         return domainObject;
     }
 
+    private Type createType4Property(DiscoveryRun run, Aggregate aggregate, String propertyKey, Schema inputProperty) {
+        var property = inputProperty;
+        String ref = null;
+        if (isRefSchema(property)) {
+            ref = property.get$ref();
+            if (run.refsInProgress.containsKey(ref))
+                return new Type(run.refsInProgress.get(ref));
+            property = resolveSchemaByRef(run, ref);
+        }
+        if ("object".equals(property.getType()))
+            return new Type(createEntity4Schema(run, aggregate, formatTypeName(propertyKey + "Type"), property, ref));
+        if ("array".equals(property.getType()) && ((ArraySchema) property).getItems() != null) {
+            Type type = createType4Property(run, aggregate, propertyKey, ((ArraySchema) property).getItems());
+            type.setCollectionType("List");
+            return type;
+        }
+        return new Type(typeMapper.mapType(property.getType()));
+    }
+
+    /*
+     * Returns the key under which a converted schema is shared: referenced schemas are identified by their reference,
+     * inline schemas by their name and structure. Schemas without properties are never shared (null).
+     */
+    private String getDeduplicationKey(DiscoveryRun run, String objectName, Schema objectSchema, String ref) {
+        if (objectSchema.getProperties() == null || objectSchema.getProperties().isEmpty())
+            return null;
+        if (ref != null)
+            return "ref:" + ref;
+        var key = run.structuralKeys.get(objectSchema);
+        if (key == null) {
+            key = "inline:" + objectName + ":" + describeStructure(objectSchema);
+            run.structuralKeys.put(objectSchema, key);
+        }
+        return key;
+    }
+
+    /*
+     * Describes the property names and types of an inline schema (recursively). Referenced schemas are described by
+     * their reference, since they are deduplicated by reference as well.
+     */
+    private String describeStructure(Schema<?> schema) {
+        if (isRefSchema(schema))
+            return "ref:" + schema.get$ref();
+        if ("object".equals(schema.getType())) {
+            var sb = new StringBuilder("{");
+            Map<String, Schema> properties = schema.getProperties();
+            if (properties != null) {
+                for (String propertyKey : new TreeSet<>(properties.keySet())) {
+                    sb.append(propertyKey).append(':').append(describeStructure(properties.get(propertyKey))).append(',');
+                }
+            }
+            return sb.append('}').toString();
+        }
+        if ("array".equals(schema.getType()) && ((ArraySchema) schema).getItems() != null)
+            return "[" + describeStructure(((ArraySchema) schema).getItems()) + "]";
+        return String.valueOf(schema.getType());
+    }
+
     private String formatTypeName(String typeName) {
         return typeName.substring(0, 1).toUpperCase() + (typeName.length() > 1 ? typeName.substring(1) : "");
     }
@@ -216,12 +383,35 @@ public class OASBoundedContextDiscoveryStrategy implements BoundedContextDiscove
         return schema.get$ref() != null && !"".equals(schema.get$ref());
     }
 
-    private Schema resolveSchemaByRef(String ref) {
-        return currentOAS.getComponents().getSchemas().get(getTypeNameFromSchemaRef(ref));
+    private Schema resolveSchemaByRef(DiscoveryRun run, String ref) {
+        return run.resolvedSchemas.computeIfAbsent(ref, r -> run.oas.getComponents().getSchemas().get(getTypeNameFromSchemaRef(r)));
     }
 
     private String getTypeNameFromSchemaRef(String ref) {
         return ref.replace(RefType.SCHEMAS.getInternalPrefix(), "");
     }
 
+    /**
+     * The state of the discovery of a single OAS (the parsed specification, the resolved schema references, the
+     * allocated Aggregate names, the domain objects created per Aggregate and the schema references which are currently
+     * converted). If structural deduplication is enabled, the run further knows the canonical domain object per schema
+     * structure.
+     */
+    private static class DiscoveryRun {
+        private final OpenAPI oas;
+        private final Map<String, Schema> resolvedSchemas = new HashMap<>();
+        private final UniqueNameAllocator aggregateNames = new UniqueNameAllocator();
+        private final Map<Aggregate, Map<String, DomainObject>> domainObjectMap = new HashMap<>();
+        private final Map<String, DomainObject> refsInProgress = new HashMap<>();
+        private final Map<String, DomainObject> canonicalDomainObjects;
+        private final Map<Schema, String> structuralKeys = new IdentityHashMap<>();
+        private int createdDomainObjects;
+        private int sharedDomainObjects;
+
+        DiscoveryRun(OpenAPI oas, boolean deduplicate) {
+            this.oas = oas;
+            this.canonicalDomainObjects = deduplicate ? new HashMap<>() : null;
+        }
+    }
+
 }
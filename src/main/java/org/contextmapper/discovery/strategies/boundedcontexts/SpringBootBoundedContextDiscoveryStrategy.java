@@ -15,11 +15,14 @@
  */
 package org.contextmapper.discovery.strategies.boundedcontexts;
 
-import org.contextmapper.discovery.strategies.helper.AnnotationScanner;
+import org.contextmapper.discovery.strategies.helper.ClasspathIndex;
+import org.contextmapper.discovery.strategies.helper.TypeDescriptor;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.File;
 import java.lang.reflect.Method;
+import java.util.List;
 import java.util.Set;
 
 public class SpringBootBoundedContextDiscoveryStrategy extends AbstractRESTResourceBasedBoundedContextDiscoveryStrategy implements BoundedContextDiscoveryStrategy {
@@ -30,32 +33,48 @@ public class SpringBootBoundedContextDiscoveryStrategy extends AbstractRESTResou
         this.packageName = packageName;
     }
 
+    public SpringBootBoundedContextDiscoveryStrategy(String packageName, ClasspathIndex classpathIndex) {
+        this(packageName);
+        setClasspathIndex(classpathIndex);
+    }
+
+    /**
+     * Creates a strategy scanning the given jar files and class directories (instead of the classpath of the running
+     * JVM) through a dedicated class loader, which is closed at the end of the discovery.
+     */
+    public SpringBootBoundedContextDiscoveryStrategy(String packageName, File... classpath) {
+        this(packageName);
+        useIsolatedClasspath(classpath);
+    }
+
     @Override
-    protected Set<Class<?>> findBoundedContextTypes() {
-        return new AnnotationScanner().scanForAnnotatedType(packageName, SpringBootApplication.class);
+    protected Set<TypeDescriptor> findBoundedContextTypes(DiscoveryRun run) {
+        return createAnnotationScanner(run.getClasspathIndex()).scanForAnnotatedTypeDescriptors(packageName, SpringBootApplication.class);
     }
 
     @Override
-    protected String findBoundedContextTechnology(Class<?> boundedContextType) {
+    protected String findBoundedContextTechnology(TypeDescriptor boundedContextType) {
         return "Spring Boot";
     }
 
     @Override
-    protected Set<Class<?>> findResourceTypes(String packageName) {
-        return new AnnotationScanner().scanForAnnotatedType(packageName, RequestMapping.class);
+    protected Set<TypeDescriptor> findResourceTypes(DiscoveryRun run, String packageName) {
+        return createAnnotationScanner(run.getClasspathIndex()).scanForAnnotatedTypeDescriptors(packageName, RequestMapping.class);
     }
 
     @Override
-    protected String findResourcePath(Class<?> resourceType) {
-        RequestMapping requestMapping = resourceType.getAnnotation(RequestMapping.class);
-        if (requestMapping.value().length > 0)
-            return requestMapping.value()[0];
+    protected String findResourcePath(TypeDescriptor resourceType) {
+        List<String> paths = resourceType.getAnnotationValues(RequestMapping.class.getName(), "value");
+        if (paths.isEmpty())
+            paths = resourceType.getAnnotationValues(RequestMapping.class.getName(), "path");
+        if (paths.size() > 0)
+            return paths.get(0);
         return "";
     }
 
     @Override
-    protected Set<Method> findResourceMethods(Class<?> resourceType) {
-        return new AnnotationScanner().scanForAnnotatedMethods(resourceType, RequestMapping.class, PutMapping.class,
+    protected Set<Method> findResourceMethods(DiscoveryRun run, Class<?> resourceType) {
+        return createAnnotationScanner(run.getClasspathIndex()).scanForAnnotatedMethods(resourceType, RequestMapping.class, PutMapping.class,
                 GetMapping.class, PostMapping.class, PatchMapping.class, DeleteMapping.class);
     }
 
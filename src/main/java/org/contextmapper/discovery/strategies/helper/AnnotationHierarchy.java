@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Caches the names of an annotation type and all its (transitive) meta-annotations, for example
+ * {@code @GetMapping} -> {@code @GetMapping, @RequestMapping, @Mapping}.
+ *
+ * @author Stefan Kapferer
+ */
+final class AnnotationHierarchy {
+
+    private static final ClassValue<Set<String>> ANNOTATION_HIERARCHY = new ClassValue<>() {
+        @Override
+        protected Set<String> computeValue(Class<?> annotationType) {
+            Set<String> names = new HashSet<>();
+            collectAnnotationHierarchy(annotationType, names);
+            return Collections.unmodifiableSet(names);
+        }
+    };
+
+    private AnnotationHierarchy() {
+    }
+
+    /**
+     * Gets the names of the given annotation type and all its meta-annotations.
+     */
+    static Set<String> of(Class<?> annotationType) {
+        return ANNOTATION_HIERARCHY.get(annotationType);
+    }
+
+    private static void collectAnnotationHierarchy(Class<?> annotationType, Set<String> names) {
+        if (!names.add(annotationType.getName()))
+            return;
+        for (Annotation metaAnnotation : annotationType.getDeclaredAnnotations()) {
+            if (!metaAnnotation.annotationType().getName().startsWith("java.lang.annotation."))
+                collectAnnotationHierarchy(metaAnnotation.annotationType(), names);
+        }
+    }
+
+}
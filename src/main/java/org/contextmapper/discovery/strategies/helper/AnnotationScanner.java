@@ -15,19 +15,14 @@
  */
 package org.contextmapper.discovery.strategies.helper;
 
-import org.reflections.Reflections;
-import org.reflections.util.ClasspathHelper;
-import org.reflections.util.ConfigurationBuilder;
-import org.reflections.util.FilterBuilder;
-
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.stream.Collectors;
 
-import static org.reflections.scanners.Scanners.*;
-
 /**
  * Provides methods for annotation scanning.
  *
@@ -35,6 +30,16 @@ import static org.reflections.scanners.Scanners.*;
  */
 public class AnnotationScanner {
 
+    private ClasspathIndex classpathIndex;
+
+    public AnnotationScanner() {
+        this(new ClasspathIndex());
+    }
+
+    public AnnotationScanner(ClasspathIndex classpathIndex) {
+        this.classpathIndex = classpathIndex;
+    }
+
     /**
      * Finds all types within a package annotated with a given annotation.
      *
@@ -43,28 +48,47 @@ public class AnnotationScanner {
      * @return the set of types within the given package which are annotated with the given annotation
      */
     public Set<Class<?>> scanForAnnotatedType(String packageName, Class<? extends Annotation> annotation) {
-        Reflections reflections = new Reflections(packageName);
-        return reflections.getTypesAnnotatedWith(annotation);
+        return classpathIndex.getTypesAnnotatedWith(packageName, annotation);
     }
 
     /**
-     * Finds all methods of a type which are annotated with a given annotation.
+     * Finds all types within a package annotated with a given annotation, without loading the types.
+     *
+     * @param packageName the package within which to search for the types
+     * @param annotation  the annotation with which the types must be annotated
+     * @return the descriptors of the types within the given package which are annotated with the given annotation
+     */
+    public Set<TypeDescriptor> scanForAnnotatedTypeDescriptors(String packageName, Class<? extends Annotation> annotation) {
+        return classpathIndex.getTypeDescriptorsAnnotatedWith(packageName, annotation);
+    }
+
+    /**
+     * Finds all methods of a type which are annotated with a given annotation. Methods annotated with an annotation
+     * that is meta-annotated with one of the given annotations (such as {@code @GetMapping} for
+     * {@code @RequestMapping}) are found as well.
      *
      * @param type        the type within which you want to search for methods
      * @param annotations the annotations with which the methods must be annotated (at least one of the given annotations)
      * @return the set of methods within the given type which are annotated with the given annotation
      */
     public Set<Method> scanForAnnotatedMethods(Class<?> type, Class<? extends Annotation>... annotations) {
+        Set<String> annotationNames = Arrays.stream(annotations).map(Class::getName).collect(Collectors.toSet());
         Set<Method> methods = new HashSet<>();
-        Reflections reflections = new Reflections(new ConfigurationBuilder()
-                .setUrls(ClasspathHelper.forClass(type))
-                .setScanners(TypesAnnotated, MethodsAnnotated, MethodsReturn)
-                .filterInputsBy(new FilterBuilder().includePackage(type.getPackageName()))
-        );
-        for (Class<? extends Annotation> annotation : annotations) {
-            methods.addAll(reflections.getMethodsAnnotatedWith(annotation));
+        for (Method method : type.getDeclaredMethods()) {
+            if (method.isSynthetic() || method.isBridge())
+                continue;
+            if (isAnnotatedWithAnyOf(method, annotationNames))
+                methods.add(method);
+        }
+        return methods;
+    }
+
+    private boolean isAnnotatedWithAnyOf(Method method, Set<String> annotationNames) {
+        for (Annotation annotation : method.getDeclaredAnnotations()) {
+            if (!Collections.disjoint(AnnotationHierarchy.of(annotation.annotationType()), annotationNames))
+                return true;
         }
-        return methods.stream().filter(m -> m.getDeclaringClass().equals(type)).collect(Collectors.toSet());
+        return false;
     }
 
 }
@@ -0,0 +1,379 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.contextmapper.discovery.model.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Persistent on-disk cache for the Bounded Contexts derived from specification files (such as OpenAPI specifications).
+ * <p>
+ * The cache is content-addressed: a derived Bounded Context is stored under the hash of the specification file and
+ * all files it (transitively) references with relative $ref's. As long as none of these files changes, the Bounded
+ * Context (with its Aggregates, services and domain objects) is read from the cache instead of parsing the
+ * specification again. Remote references (URLs) are only hashed by their location; specifications which are not
+ * local files are not cached at all.
+ *
+ * @author Stefan Kapferer
+ */
+public class BoundedContextCache {
+
+    private static Logger LOG = LoggerFactory.getLogger(BoundedContextCache.class);
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String CACHE_FILE_SUFFIX = ".bc";
+    private static final Pattern REF_PATTERN = Pattern.compile("[\"']?\\$ref[\"']?\\s*:\\s*[\"']?([^\"'\\s,}]*)");
+
+    private File directory;
+
+    public BoundedContextCache(File directory) {
+        if (directory == null)
+            throw new IllegalArgumentException("The cache directory must not be null.");
+        if (!directory.exists() && !directory.mkdirs())
+            throw new IllegalArgumentException("The cache directory '" + directory + "' cannot be created.");
+        if (!directory.isDirectory())
+            throw new IllegalArgumentException("The cache location '" + directory + "' is not a directory.");
+        this.directory = directory;
+    }
+
+    /**
+     * Gets the cached Bounded Context derived from a specification, or derives the Bounded Context and caches it.
+     *
+     * @param location  the location of the specification
+     * @param discovery derives the Bounded Context if there is no cached one for the current content of the specification
+     * @return the Bounded Context derived from the given specification
+     */
+    public BoundedContext getOrDiscover(String location, Supplier<BoundedContext> discovery) {
+        return getOrDiscover(location, "", discovery);
+    }
+
+    /**
+     * Gets the cached Bounded Context derived from a specification with the given discovery options, or derives the
+     * Bounded Context and caches it.
+     *
+     * @param location  the location of the specification
+     * @param options   the options of the discovery which influence the derived Bounded Context (part of the cache key)
+     * @param discovery derives the Bounded Context if there is no cached one for the current content of the specification
+     * @return the Bounded Context derived from the given specification
+     */
+    public BoundedContext getOrDiscover(String location, String options, Supplier<BoundedContext> discovery) {
+        File specification = new File(location);
+        if (!specification.isFile())
+            return discovery.get();
+
+        File cacheFile = new File(directory, hashSpecification(specification.toPath(), options) + CACHE_FILE_SUFFIX);
+        BoundedContext cachedBoundedContext = readCacheFile(cacheFile);
+        if (cachedBoundedContext != null) {
+            LOG.debug("Using the cached Bounded Context of '" + location + "'.");
+            return cachedBoundedContext;
+        }
+
+        BoundedContext boundedContext = discovery.get();
+        writeCacheFile(cacheFile, boundedContext);
+        return boundedContext;
+    }
+
+    private String hashSpecification(Path specification, String options) {
+        MessageDigest digest = createDigest();
+        digest.update(("v" + FORMAT_VERSION + "|" + options + "\n").getBytes(StandardCharsets.UTF_8));
+        Set<Path> visited = new HashSet<>();
+        Deque<Path> files = new ArrayDeque<>();
+        files.add(specification.toAbsolutePath().normalize());
+        while (!files.isEmpty()) {
+            Path file = files.poll();
+            if (!visited.add(file))
+                continue;
+            String content = readFile(file);
+            digest.update(content.getBytes(StandardCharsets.UTF_8));
+            Matcher matcher = REF_PATTERN.matcher(content);
+            while (matcher.find()) {
+                String ref = matcher.group(1);
+                int fragmentIndex = ref.indexOf('#');
+                String referencedFile = fragmentIndex < 0 ? ref : ref.substring(0, fragmentIndex);
+                if (referencedFile.isEmpty() || referencedFile.contains("://"))
+                    continue; // fragments and remote locations are already part of the hashed content
+                Path referencedPath = file.resolveSibling(referencedFile).normalize();
+                if (Files.isRegularFile(referencedPath))
+                    files.add(referencedPath);
+                else
+                    digest.update(("missing:" + referencedFile).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        return toHex(digest.digest());
+    }
+
+    private String readFile(Path file) {
+        try {
+            return new String(Files.readAllBytes(file), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not compute the content hash of '" + file + "'.", e);
+        }
+    }
+
+    private BoundedContext readCacheFile(File cacheFile) {
+        if (!cacheFile.exists())
+            return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != FORMAT_VERSION)
+                return null;
+            return readBoundedContext(in);
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Ignoring the unreadable cache file '" + cacheFile + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeCacheFile(File cacheFile, BoundedContext boundedContext) {
+        File tempFile = new File(directory, cacheFile.getName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(FORMAT_VERSION);
+                writeBoundedContext(out, boundedContext);
+            }
+            // concurrent discovery runs may share the cache directory; readers only ever see complete files
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Could not write the cache file '" + cacheFile + "': " + e.getMessage());
+            tempFile.delete();
+        }
+    }
+
+    /*
+     * Format: the Bounded Context with its Aggregates, followed by the table of all domain objects (header first,
+     * then attributes and methods). Types reference domain objects by their index in that table, so that shared and
+     * recursive domain objects are restored as the same instances.
+     */
+    private void writeBoundedContext(DataOutputStream out, BoundedContext boundedContext) throws IOException {
+        List<Aggregate> aggregates = new ArrayList<>(boundedContext.getAggregates());
+        List<DomainObject> domainObjects = collectDomainObjects(aggregates);
+        Map<DomainObject, Integer> domainObjectIndex = new IdentityHashMap<>();
+        for (DomainObject domainObject : domainObjects) {
+            domainObjectIndex.put(domainObject, domainObjectIndex.size());
+        }
+
+        out.writeUTF(boundedContext.getName());
+        writeNullable(out, boundedContext.getTechnology());
+
+        out.writeInt(domainObjects.size());
+        for (DomainObject domainObject : domainObjects) {
+            out.writeUTF(domainObject.getType().name());
+            out.writeUTF(domainObject.getName());
+            writeNullable(out, domainObject.getOriginalType());
+            writeNullable(out, domainObject.getDiscoveryComment());
+        }
+        for (DomainObject domainObject : domainObjects) {
+            out.writeInt(domainObject.getAttributes().size());
+            for (Attribute attribute : domainObject.getAttributes()) {
+                out.writeUTF(attribute.getName());
+                writeType(out, attribute.getType(), domainObjectIndex);
+            }
+            writeMethods(out, domainObject.getMethods(), domainObjectIndex);
+        }
+
+        out.writeInt(aggregates.size());
+        for (Aggregate aggregate : aggregates) {
+            out.writeUTF(aggregate.getName());
+            writeNullable(out, aggregate.getDiscoveryComment());
+            out.writeInt(aggregate.getDomainObjects().size());
+            for (DomainObject domainObject : aggregate.getDomainObjects()) {
+                out.writeInt(domainObjectIndex.get(domainObject));
+            }
+            out.writeInt(aggregate.getRootEntity() != null ? domainObjectIndex.get(aggregate.getRootEntity()) : -1);
+            out.writeInt(aggregate.getServices().size());
+            for (Service service : aggregate.getServices()) {
+                out.writeUTF(service.getName());
+                writeNullable(out, service.getDiscoveryComment());
+                writeMethods(out, service.getOperations(), domainObjectIndex);
+            }
+        }
+    }
+
+    private BoundedContext readBoundedContext(DataInputStream in) throws IOException {
+        BoundedContext boundedContext = new BoundedContext(in.readUTF());
+        boundedContext.setTechnology(readNullable(in));
+
+        int domainObjectCount = in.readInt();
+        List<DomainObject> domainObjects = new ArrayList<>(domainObjectCount);
+        for (int i = 0; i < domainObjectCount; i++) {
+            DomainObject domainObject = new DomainObject(DomainObjectType.valueOf(in.readUTF()), in.readUTF(), readNullable(in));
+            domainObject.setDiscoveryComment(readNullable(in));
+            domainObjects.add(domainObject);
+        }
+        for (DomainObject domainObject : domainObjects) {
+            int attributeCount = in.readInt();
+            for (int i = 0; i < attributeCount; i++) {
+                String name = in.readUTF();
+                domainObject.addAttribute(new Attribute(readType(in, domainObjects), name));
+            }
+            for (Method method : readMethods(in, domainObjects)) {
+                domainObject.addMethod(method);
+            }
+        }
+
+        int aggregateCount = in.readInt();
+        for (int i = 0; i < aggregateCount; i++) {
+            Aggregate aggregate = new Aggregate(in.readUTF());
+            aggregate.setDiscoveryComment(readNullable(in));
+            int aggregateDomainObjectCount = in.readInt();
+            for (int j = 0; j < aggregateDomainObjectCount; j++) {
+                aggregate.addDomainObject(domainObjects.get(in.readInt()));
+            }
+            int rootEntityIndex = in.readInt();
+            if (rootEntityIndex >= 0)
+                aggregate.setRootEntity(domainObjects.get(rootEntityIndex));
+            int serviceCount = in.readInt();
+            for (int j = 0; j < serviceCount; j++) {
+                Service service = new Service(in.readUTF());
+                service.setDiscoveryComment(readNullable(in));
+                for (Method operation : readMethods(in, domainObjects)) {
+                    service.addOperation(operation);
+                }
+                aggregate.addService(service);
+            }
+            boundedContext.addAggregate(aggregate);
+        }
+        return boundedContext;
+    }
+
+    private List<DomainObject> collectDomainObjects(List<Aggregate> aggregates) {
+        // identity set: domain objects of different Aggregates may be equal (same type and name)
+        Set<DomainObject> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<DomainObject> domainObjects = new ArrayList<>();
+        Deque<DomainObject> pending = new ArrayDeque<>();
+        for (Aggregate aggregate : aggregates) {
+            pending.addAll(aggregate.getDomainObjects());
+            for (Service service : aggregate.getServices()) {
+                for (Method operation : service.getOperations()) {
+                    addReferencedDomainObjects(operation, pending);
+                }
+            }
+        }
+        while (!pending.isEmpty()) {
+            DomainObject domainObject = pending.poll();
+            if (!visited.add(domainObject))
+                continue;
+            domainObjects.add(domainObject);
+            for (Attribute attribute : domainObject.getAttributes()) {
+                addReferencedDomainObject(attribute.getType(), pending);
+            }
+            for (Method method : domainObject.getMethods()) {
+                addReferencedDomainObjects(method, pending);
+            }
+        }
+        return domainObjects;
+    }
+
+    private void addReferencedDomainObjects(Method method, Deque<DomainObject> pending) {
+        addReferencedDomainObject(method.getReturnType(), pending);
+        for (Parameter parameter : method.getParameters()) {
+            addReferencedDomainObject(parameter.getType(), pending);
+        }
+    }
+
+    private void addReferencedDomainObject(Type type, Deque<DomainObject> pending) {
+        if (type != null && type.isDomainObjectType())
+            pending.add(type.getDomainObjectType());
+    }
+
+    private void writeMethods(DataOutputStream out, Set<Method> methods, Map<DomainObject, Integer> domainObjectIndex) throws IOException {
+        out.writeInt(methods.size());
+        for (Method method : methods) {
+            out.writeUTF(method.getName());
+            out.writeBoolean(method.getReturnType() != null);
+            if (method.getReturnType() != null)
+                writeType(out, method.getReturnType(), domainObjectIndex);
+            out.writeInt(method.getParameters().size());
+            for (Parameter parameter : method.getParameters()) {
+                out.writeUTF(parameter.getName());
+                writeType(out, parameter.getType(), domainObjectIndex);
+            }
+        }
+    }
+
+    private List<Method> readMethods(DataInputStream in, List<DomainObject> domainObjects) throws IOException {
+        int count = in.readInt();
+        List<Method> methods = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Method method = new Method(in.readUTF());
+            if (in.readBoolean())
+                method.setReturnType(readType(in, domainObjects));
+            int parameterCount = in.readInt();
+            for (int j = 0; j < parameterCount; j++) {
+                String name = in.readUTF();
+                method.addParameter(new Parameter(name, readType(in, domainObjects)));
+            }
+            methods.add(method);
+        }
+        return methods;
+    }
+
+    private void writeType(DataOutputStream out, Type type, Map<DomainObject, Integer> domainObjectIndex) throws IOException {
+        if (type.isDomainObjectType()) {
+            out.writeBoolean(true);
+            out.writeInt(domainObjectIndex.get(type.getDomainObjectType()));
+        } else {
+            out.writeBoolean(false);
+            out.writeUTF(type.getPrimitiveType());
+        }
+        out.writeUTF(type.isCollectionType() ? type.getCollectionType() : "");
+    }
+
+    private Type readType(DataInputStream in, List<DomainObject> domainObjects) throws IOException {
+        Type type = in.readBoolean() ? new Type(domainObjects.get(in.readInt())) : new Type(in.readUTF());
+        type.setCollectionType(in.readUTF());
+        return type;
+    }
+
+    private void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null)
+            out.writeUTF(value);
+    }
+
+    private String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM.", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Scans the classpath by reading class files directly (see {@link ClassFileReader}). Scanned types are not loaded
+ * into the JVM, so neither metaspace is used nor static initializers are triggered for them.
+ *
+ * @author Stefan Kapferer
+ */
+public class BytecodeClasspathScanner implements ClasspathScanner {
+
+    private static Logger LOG = LoggerFactory.getLogger(BytecodeClasspathScanner.class);
+
+    private static final String CLASS_FILE_SUFFIX = ".class";
+    private static final int CHUNK_SIZE = 512;
+
+    private ClassLoader classLoader;
+    private ClassFileReader classFileReader;
+    private ScanCache scanCache;
+    private ForkJoinPool forkJoinPool;
+
+    public BytecodeClasspathScanner() {
+        this(Thread.currentThread().getContextClassLoader() != null ? Thread.currentThread().getContextClassLoader() : BytecodeClasspathScanner.class.getClassLoader());
+    }
+
+    public BytecodeClasspathScanner(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+        this.classFileReader = new ClassFileReader();
+    }
+
+    @Override
+    public Collection<TypeDescriptor> scan(String packageName) {
+        return scan(packageName, Collections.emptySet());
+    }
+
+    @Override
+    public Collection<TypeDescriptor> scan(String packageName, Set<Path> skippedRoots) {
+        String packagePath = packageName.replace('.', '/');
+        List<Path> roots = findClasspathRoots(packagePath);
+        roots.removeIf(root -> skippedRoots.contains(root.toAbsolutePath().normalize()));
+        List<List<TypeDescriptor>> rootTypes = forkJoinPool != null
+                ? forkJoinPool.invoke(new RootsScanTask(roots, packagePath))
+                : roots.stream().map(root -> scanCachedClasspathRoot(root, packagePath)).collect(Collectors.toList());
+        Map<String, TypeDescriptor> types = new LinkedHashMap<>();
+        for (List<TypeDescriptor> typesOfRoot : rootTypes) {
+            for (TypeDescriptor type : typesOfRoot) {
+                // like a class loader, the first classpath entry defining a type wins
+                types.putIfAbsent(type.getName(), type);
+            }
+        }
+        return types.values();
+    }
+
+    /**
+     * Sets a persistent cache for the scan results, so that unchanged classpath entries are not scanned again in
+     * subsequent runs.
+     *
+     * @param scanCache the scan cache to be used
+     */
+    public void setScanCache(ScanCache scanCache) {
+        this.scanCache = scanCache;
+    }
+
+    /**
+     * Enables parallel scanning: the classpath entries (and the class files of large entries) are scanned by tasks
+     * on the given pool. By default (or if set to null), the classpath is scanned on the calling thread.
+     *
+     * @param forkJoinPool the pool on which the classpath is scanned
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+    /**
+     * Finds the classpath entries (directories and jar files) containing the given package.
+     */
+    protected List<Path> findClasspathRoots(String packagePath) {
+        Set<Path> roots = new LinkedHashSet<>();
+        try {
+            Enumeration<URL> urls = classLoader.getResources(packagePath);
+            while (urls.hasMoreElements()) {
+                Path root = toClasspathRoot(urls.nextElement(), packagePath);
+                if (root != null)
+                    roots.add(root);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not find the classpath entries of the package '" + packagePath + "'.", e);
+        }
+        return new ArrayList<>(roots);
+    }
+
+    /**
+     * Scans a single classpath entry (directory or jar file) for the types within the given package.
+     */
+    protected List<TypeDescriptor> scanClasspathRoot(Path root, String packagePath) {
+        List<String> classFiles = listClassFiles(root, packagePath);
+        if (ForkJoinTask.inForkJoinPool() && classFiles.size() > CHUNK_SIZE)
+            return new ClassFilesScanTask(root, classFiles).invoke();
+        return readClassFiles(root, classFiles);
+    }
+
+    private List<TypeDescriptor> scanCachedClasspathRoot(Path root, String packagePath) {
+        if (scanCache != null)
+            return scanCache.getOrScan(root, packagePath, () -> scanClasspathRoot(root, packagePath));
+        return scanClasspathRoot(root, packagePath);
+    }
+
+    private List<String> listClassFiles(Path root, String packagePath) {
+        if (Files.isDirectory(root)) {
+            Path packageDirectory = packagePath.isEmpty() ? root : root.resolve(packagePath);
+            if (!Files.isDirectory(packageDirectory))
+                return Collections.emptyList();
+            try (Stream<Path> files = Files.walk(packageDirectory)) {
+                return files.filter(f -> isClassFile(f.getFileName().toString()))
+                        .map(f -> root.relativize(f).toString())
+                        .collect(Collectors.toList());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not scan the directory '" + packageDirectory + "'.", e);
+            }
+        }
+        String prefix = packagePath.isEmpty() ? "" : packagePath + "/";
+        try (JarFile jarFile = new JarFile(root.toFile())) {
+            return jarFile.stream()
+                    .filter(entry -> !entry.isDirectory() && entry.getName().startsWith(prefix) && isClassFile(entry.getName()))
+                    .map(JarEntry::getName)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not scan the jar file '" + root + "'.", e);
+        }
+    }
+
+    private List<TypeDescriptor> readClassFiles(Path root, List<String> classFiles) {
+        List<TypeDescriptor> types = new ArrayList<>(classFiles.size());
+        if (Files.isDirectory(root)) {
+            for (String classFile : classFiles) {
+                Path file = root.resolve(classFile);
+                try (InputStream in = Files.newInputStream(file)) {
+                    readClassFile(in, file.toString(), types);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not read the class file '" + file + "'.", e);
+                }
+            }
+            return types;
+        }
+        try (JarFile jarFile = new JarFile(root.toFile())) {
+            for (String classFile : classFiles) {
+                try (InputStream in = jarFile.getInputStream(jarFile.getEntry(classFile))) {
+                    readClassFile(in, root + "!/" + classFile, types);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not scan the jar file '" + root + "'.", e);
+        }
+        return types;
+    }
+
+    /**
+     * Reads a class file and adds the descriptor of its type to the given list (unreadable class files are skipped).
+     */
+    protected void readClassFile(InputStream in, String location, List<TypeDescriptor> types) {
+        try {
+            types.add(classFileReader.read(in));
+        } catch (IOException e) {
+            LOG.warn("Could not read the class file '" + location + "': " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks whether the given file contains a type (module and package descriptors are excluded).
+     */
+    protected boolean isClassFile(String fileName) {
+        return fileName.endsWith(CLASS_FILE_SUFFIX) && !fileName.endsWith("module-info.class") && !fileName.endsWith("package-info.class");
+    }
+
+    /**
+     * Resolves the classpath entry (directory or jar file) of a resource URL, given the path of the resource within
+     * the entry. Returns null, if the entry is not located in the file system.
+     */
+    static Path toClasspathRoot(URL url, String packagePath) {
+        try {
+            if ("file".equals(url.getProtocol())) {
+                Path root = Paths.get(url.toURI());
+                for (int i = 0; !packagePath.isEmpty() && i < packagePath.split("/").length; i++) {
+                    root = root.getParent();
+                }
+                return root;
+            } else if ("jar".equals(url.getProtocol())) {
+                String jarUrl = url.getPath();
+                int separatorIndex = jarUrl.indexOf("!/");
+                if (separatorIndex < 0 || !jarUrl.startsWith("file:"))
+                    return null;
+                return Paths.get(new URL(jarUrl.substring(0, separatorIndex)).toURI());
+            }
+        } catch (URISyntaxException | IOException e) {
+            LOG.warn("Could not resolve the classpath entry '" + url + "': " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * Scans all classpath entries in parallel; the results are kept in the order of the entries.
+     */
+    private class RootsScanTask extends RecursiveTask<List<List<TypeDescriptor>>> {
+        private static final long serialVersionUID = 1L;
+
+        private final List<Path> roots;
+        private final String packagePath;
+
+        RootsScanTask(List<Path> roots, String packagePath) {
+            this.roots = roots;
+            this.packagePath = packagePath;
+        }
+
+        @Override
+        protected List<List<TypeDescriptor>> compute() {
+            List<ForkJoinTask<List<TypeDescriptor>>> tasks = new ArrayList<>();
+            for (Path root : roots) {
+                tasks.add(ForkJoinTask.adapt(() -> scanCachedClasspathRoot(root, packagePath)));
+            }
+            invokeAll(tasks);
+            return tasks.stream().map(ForkJoinTask::join).collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Reads the class files of one classpath entry, splitting them into chunks of {@link #CHUNK_SIZE} files.
+     */
+    private class ClassFilesScanTask extends RecursiveTask<List<TypeDescriptor>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Path root;
+        private final List<String> classFiles;
+
+        ClassFilesScanTask(Path root, List<String> classFiles) {
+            this.root = root;
+            this.classFiles = classFiles;
+        }
+
+        @Override
+        protected List<TypeDescriptor> compute() {
+            if (classFiles.size() <= CHUNK_SIZE)
+                return readClassFiles(root, classFiles);
+            int middle = classFiles.size() / 2;
+            ClassFilesScanTask first = new ClassFilesScanTask(root, classFiles.subList(0, middle));
+            ClassFilesScanTask second = new ClassFilesScanTask(root, classFiles.subList(middle, classFiles.size()));
+            first.fork();
+            List<TypeDescriptor> types = new ArrayList<>(second.compute());
+            types.addAll(0, first.join());
+            return types;
+        }
+    }
+
+}
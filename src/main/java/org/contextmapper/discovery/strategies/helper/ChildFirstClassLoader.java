@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+/**
+ * Class loader which loads classes from its own URLs first and only delegates to its parent if a class is not found
+ * there. Classes of the Java platform are always loaded by the parent.
+ *
+ * @author Stefan Kapferer
+ */
+public class ChildFirstClassLoader extends URLClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    public ChildFirstClassLoader(URL[] urls, ClassLoader parent) {
+        super(urls, parent);
+    }
+
+    @Override
+    protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+        synchronized (getClassLoadingLock(name)) {
+            Class<?> type = findLoadedClass(name);
+            if (type == null) {
+                if (isPlatformClass(name)) {
+                    type = super.loadClass(name, false);
+                } else {
+                    try {
+                        type = findClass(name);
+                    } catch (ClassNotFoundException e) {
+                        type = super.loadClass(name, false);
+                    }
+                }
+            }
+            if (resolve)
+                resolveClass(type);
+            return type;
+        }
+    }
+
+    @Override
+    public URL getResource(String name) {
+        URL resource = findResource(name);
+        return resource != null ? resource : super.getResource(name);
+    }
+
+    private boolean isPlatformClass(String name) {
+        return name.startsWith("java.") || name.startsWith("jdk.") || name.startsWith("sun.") || name.startsWith("com.sun.");
+    }
+
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Reads {@link TypeDescriptor}s directly from class files (constant pool, annotations and signatures), without
+ * loading the classes into the JVM.
+ *
+ * @author Stefan Kapferer
+ */
+public class ClassFileReader {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+    private static final String RUNTIME_INVISIBLE_ANNOTATIONS = "RuntimeInvisibleAnnotations";
+    private static final String SIGNATURE = "Signature";
+
+    /**
+     * Reads a class file.
+     *
+     * @param classFile the input stream of the class file (not closed by this method)
+     * @return the descriptor of the type defined by the class file
+     * @throws IOException if the class file cannot be read or is not a valid class file
+     */
+    public TypeDescriptor read(InputStream classFile) throws IOException {
+        DataInputStream in = new DataInputStream(new BufferedInputStream(classFile));
+        if (in.readInt() != MAGIC)
+            throw new IOException("Not a valid class file (wrong magic number).");
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        ConstantPool constantPool = readConstantPool(in);
+
+        in.readUnsignedShort(); // access flags
+        String name = constantPool.getClassName(in.readUnsignedShort());
+        int superIndex = in.readUnsignedShort();
+        String superName = superIndex == 0 ? null : constantPool.getClassName(superIndex);
+        int interfaceCount = in.readUnsignedShort();
+        List<String> interfaceNames = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaceNames.add(constantPool.getClassName(in.readUnsignedShort()));
+        }
+
+        List<TypeDescriptor.Member> fields = readMembers(in, constantPool);
+        List<TypeDescriptor.Member> methods = readMembers(in, constantPool);
+        Attributes classAttributes = readAttributes(in, constantPool);
+
+        return new TypeDescriptor(name, superName, interfaceNames, classAttributes.annotations, fields, methods);
+    }
+
+    private ConstantPool readConstantPool(DataInputStream in) throws IOException {
+        int count = in.readUnsignedShort();
+        ConstantPool constantPool = new ConstantPool(count);
+        for (int i = 1; i < count; i++) {
+            int tag = in.readUnsignedByte();
+            switch (tag) {
+                case 1: // Utf8
+                    constantPool.utf8[i] = in.readUTF();
+                    break;
+                case 7: // Class
+                    constantPool.classNameIndex[i] = in.readUnsignedShort();
+                    break;
+                case 8: // String
+                case 16: // MethodType
+                case 19: // Module
+                case 20: // Package
+                    skipFully(in, 2);
+                    break;
+                case 15: // MethodHandle
+                    skipFully(in, 3);
+                    break;
+                case 3: // Integer
+                case 4: // Float
+                case 9: // Fieldref
+                case 10: // Methodref
+                case 11: // InterfaceMethodref
+                case 12: // NameAndType
+                case 17: // Dynamic
+                case 18: // InvokeDynamic
+                    skipFully(in, 4);
+                    break;
+                case 5: // Long
+                case 6: // Double
+                    skipFully(in, 8);
+                    i++; // takes two entries in the constant pool
+                    break;
+                default:
+                    throw new IOException("Not a valid class file (unknown constant pool tag " + tag + ").");
+            }
+        }
+        return constantPool;
+    }
+
+    private List<TypeDescriptor.Member> readMembers(DataInputStream in, ConstantPool constantPool) throws IOException {
+        int count = in.readUnsignedShort();
+        List<TypeDescriptor.Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            in.readUnsignedShort(); // access flags
+            String name = constantPool.utf8[in.readUnsignedShort()];
+            String descriptor = constantPool.utf8[in.readUnsignedShort()];
+            Attributes attributes = readAttributes(in, constantPool);
+            members.add(new TypeDescriptor.Member(name, descriptor, attributes.signature, attributes.annotations));
+        }
+        return members;
+    }
+
+    private Attributes readAttributes(DataInputStream in, ConstantPool constantPool) throws IOException {
+        Attributes attributes = new Attributes();
+        int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            String attributeName = constantPool.utf8[in.readUnsignedShort()];
+            int length = in.readInt();
+            // annotations with retention policy CLASS are found as well (as by the Reflections library)
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attributeName) || RUNTIME_INVISIBLE_ANNOTATIONS.equals(attributeName)) {
+                int annotationCount = in.readUnsignedShort();
+                for (int j = 0; j < annotationCount; j++) {
+                    readAnnotation(in, constantPool, attributes.annotations);
+                }
+            } else if (SIGNATURE.equals(attributeName)) {
+                attributes.signature = constantPool.utf8[in.readUnsignedShort()];
+            } else {
+                skipFully(in, length);
+            }
+        }
+        return attributes;
+    }
+
+    private void readAnnotation(DataInputStream in, ConstantPool constantPool, Map<String, Map<String, List<String>>> annotations) throws IOException {
+        String annotationName = typeNameOfDescriptor(constantPool.utf8[in.readUnsignedShort()]);
+        Map<String, List<String>> elements = new LinkedHashMap<>();
+        int pairCount = in.readUnsignedShort();
+        for (int i = 0; i < pairCount; i++) {
+            String elementName = constantPool.utf8[in.readUnsignedShort()];
+            List<String> values = new ArrayList<>();
+            readElementValue(in, constantPool, values);
+            elements.put(elementName, values);
+        }
+        if (annotations != null)
+            annotations.put(annotationName, elements);
+    }
+
+    private void readElementValue(DataInputStream in, ConstantPool constantPool, List<String> values) throws IOException {
+        int tag = in.readUnsignedByte();
+        switch (tag) {
+            case 's':
+                values.add(constantPool.utf8[in.readUnsignedShort()]);
+                break;
+            case 'e':
+                in.readUnsignedShort(); // enum type
+                values.add(constantPool.utf8[in.readUnsignedShort()]);
+                break;
+            case 'c':
+                values.add(constantPool.utf8[in.readUnsignedShort()]);
+                break;
+            case '@':
+                readAnnotation(in, constantPool, null); // nested annotations are not part of the descriptor
+                break;
+            case '[':
+                int count = in.readUnsignedShort();
+                for (int i = 0; i < count; i++) {
+                    readElementValue(in, constantPool, values);
+                }
+                break;
+            case 'B':
+            case 'C':
+            case 'D':
+            case 'F':
+            case 'I':
+            case 'J':
+            case 'S':
+            case 'Z':
+                in.readUnsignedShort(); // primitive constants are not part of the descriptor
+                break;
+            default:
+                throw new IOException("Not a valid class file (unknown annotation element tag " + (char) tag + ").");
+        }
+    }
+
+    private String typeNameOfDescriptor(String descriptor) {
+        if (descriptor.startsWith("L") && descriptor.endsWith(";"))
+            return descriptor.substring(1, descriptor.length() - 1).replace('/', '.');
+        return descriptor.replace('/', '.');
+    }
+
+    private void skipFully(DataInputStream in, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped <= 0) {
+                in.readByte(); // throws EOFException at the end of the stream
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private class ConstantPool {
+        private final String[] utf8;
+        private final int[] classNameIndex;
+
+        ConstantPool(int count) {
+            this.utf8 = new String[count];
+            this.classNameIndex = new int[count];
+        }
+
+        String getClassName(int index) {
+            return utf8[classNameIndex[index]].replace('/', '.');
+        }
+    }
+
+    private class Attributes {
+        private Map<String, Map<String, List<String>>> annotations = new LinkedHashMap<>();
+        private String signature;
+    }
+
+}
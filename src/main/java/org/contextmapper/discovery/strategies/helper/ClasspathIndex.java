@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.io.Closeable;
+import java.lang.annotation.Annotation;
+import java.lang.annotation.Inherited;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Index of annotated types and methods on the classpath. A package is scanned only once (in a single pass collecting
+ * all annotations); subsequent queries for the same package or any of its sub-packages are answered from the index.
+ * <p>
+ * One index is meant to be shared by all strategies and helpers of a discovery run, so that the same classpath
+ * entries are not scanned again and again. By default, the index uses the discovery index generated at build time for
+ * the classpath entries containing one ({@link IndexedClasspathScanner}) and reads the class files of all other entries
+ * directly ({@link BytecodeClasspathScanner});
+ * types are only loaded if a caller asks for {@link Class} objects.
+ *
+ * @author Stefan Kapferer
+ */
+public class ClasspathIndex implements Closeable {
+
+    private final ClasspathScanner scanner;
+    private final Map<String, Map<String, TypeDescriptor>> scannedPackages = new LinkedHashMap<>();
+    private final Map<String, Set<String>> annotationHierarchies = new ConcurrentHashMap<>();
+
+    public ClasspathIndex() {
+        this(new IndexedClasspathScanner(new BytecodeClasspathScanner()));
+    }
+
+    public ClasspathIndex(ClasspathScanner scanner) {
+        this.scanner = scanner;
+    }
+
+    /**
+     * Finds all types within a package annotated with a given annotation (directly, via a meta-annotation or, for
+     * {@link Inherited} annotations, via a super class), without loading them.
+     *
+     * @param packageName the package within which to search for the types
+     * @param annotation  the annotation with which the types must be annotated
+     * @return the descriptors of the types within the given package which are annotated with the given annotation
+     */
+    public Set<TypeDescriptor> getTypeDescriptorsAnnotatedWith(String packageName, Class<? extends Annotation> annotation) {
+        Map<String, TypeDescriptor> types = getTypes(packageName);
+        boolean inherited = annotation.isAnnotationPresent(Inherited.class);
+        return types.values().stream()
+                .filter(type -> type.isInPackage(packageName))
+                .filter(type -> isAnnotatedWith(type, annotation.getName(), inherited, types))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Finds all types within a package annotated with a given annotation.
+     *
+     * @param packageName the package within which to search for the types
+     * @param annotation  the annotation with which the types must be annotated
+     * @return the set of types within the given package which are annotated with the given annotation
+     */
+    public Set<Class<?>> getTypesAnnotatedWith(String packageName, Class<? extends Annotation> annotation) {
+        Set<Class<?>> types = new HashSet<>();
+        for (TypeDescriptor type : getTypeDescriptorsAnnotatedWith(packageName, annotation)) {
+            types.add(loadClass(type));
+        }
+        return types;
+    }
+
+    /**
+     * Finds all methods within a package annotated with a given annotation.
+     *
+     * @param packageName the package within which to search for the methods
+     * @param annotation  the annotation with which the methods must be annotated
+     * @return the set of methods within the given package which are annotated with the given annotation
+     */
+    public Set<Method> getMethodsAnnotatedWith(String packageName, Class<? extends Annotation> annotation) {
+        Set<Method> methods = new HashSet<>();
+        for (TypeDescriptor type : getTypes(packageName).values()) {
+            if (!type.isInPackage(packageName))
+                continue;
+            Set<String> annotatedMethods = type.getMethods().stream()
+                    .filter(m -> m.getAnnotationNames().stream().anyMatch(a -> getAnnotationHierarchy(a).contains(annotation.getName())))
+                    .map(TypeDescriptor.Member::toString)
+                    .collect(Collectors.toSet());
+            if (annotatedMethods.isEmpty())
+                continue;
+            for (Method method : loadClass(type).getDeclaredMethods()) {
+                if (annotatedMethods.contains(method.getName() + TypeDescriptor.descriptorOf(method)))
+                    methods.add(method);
+            }
+        }
+        return methods;
+    }
+
+    /**
+     * Loads the type described by the given descriptor (without initializing it).
+     *
+     * @param type the descriptor of the type to be loaded
+     * @return the loaded type
+     */
+    public Class<?> loadClass(TypeDescriptor type) {
+        try {
+            return Class.forName(type.getName(), false, scanner.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("The type '" + type.getName() + "' has been found on the classpath but cannot be loaded.", e);
+        }
+    }
+
+    /**
+     * Closes the scanner (releasing its class loader, if it has a dedicated one) and clears the index.
+     */
+    @Override
+    public synchronized void close() {
+        scanner.close();
+        scannedPackages.clear();
+        annotationHierarchies.clear();
+    }
+
+    private synchronized Map<String, TypeDescriptor> getTypes(String packageName) {
+        for (Map.Entry<String, Map<String, TypeDescriptor>> entry : scannedPackages.entrySet()) {
+            if (packageName.equals(entry.getKey()) || packageName.startsWith(entry.getKey() + "."))
+                return entry.getValue();
+        }
+        Map<String, TypeDescriptor> types = new HashMap<>();
+        for (TypeDescriptor type : scanner.scan(packageName)) {
+            types.put(type.getName(), type);
+        }
+        scannedPackages.put(packageName, types);
+        return types;
+    }
+
+    private boolean isAnnotatedWith(TypeDescriptor type, String annotationName, boolean inherited, Map<String, TypeDescriptor> types) {
+        for (String typeAnnotation : type.getAnnotationNames()) {
+            if (getAnnotationHierarchy(typeAnnotation).contains(annotationName))
+                return true;
+        }
+        TypeDescriptor superType = type.getSuperName() != null ? types.get(type.getSuperName()) : null;
+        return inherited && superType != null && isAnnotatedWith(superType, annotationName, true, types);
+    }
+
+    private Set<String> getAnnotationHierarchy(String annotationName) {
+        return annotationHierarchies.computeIfAbsent(annotationName, name -> {
+            try {
+                return AnnotationHierarchy.of(Class.forName(name, false, scanner.getClassLoader()));
+            } catch (ClassNotFoundException | LinkageError e) {
+                // annotation is not on the classpath; we can only match it by its own name
+                return Collections.singleton(name);
+            }
+        });
+    }
+
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.io.Closeable;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Interface for classpath scanning backends used by the {@link ClasspathIndex}.
+ *
+ * @author Stefan Kapferer
+ */
+public interface ClasspathScanner extends Closeable {
+
+    /**
+     * Scans a package (including its sub-packages) for types.
+     *
+     * @param packageName the package to be scanned
+     * @return the descriptors of all types found within the given package
+     */
+    Collection<TypeDescriptor> scan(String packageName);
+
+    /**
+     * Scans a package (including its sub-packages) for types, skipping the given classpath entries (for example,
+     * since their types are already known from a discovery index). By default, all classpath entries are scanned.
+     *
+     * @param packageName  the package to be scanned
+     * @param skippedRoots the classpath entries (directories and jar files) which shall not be scanned
+     * @return the descriptors of all types found within the given package
+     */
+    default Collection<TypeDescriptor> scan(String packageName, Set<Path> skippedRoots) {
+        return scan(packageName);
+    }
+
+    /**
+     * Gets the class loader which can load the types found by this scanner.
+     *
+     * @return the class loader for the scanned types
+     */
+    ClassLoader getClassLoader();
+
+    /**
+     * Releases the resources of the scanner (such as a dedicated class loader). Does nothing by default.
+     */
+    @Override
+    default void close() {
+    }
+
+}
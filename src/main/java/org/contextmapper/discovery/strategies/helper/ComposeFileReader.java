@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.events.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * Reads the services of a Docker Compose file with their dependencies ('depends_on' and 'links') and networks.
+ * <p>
+ * The file is read through the event API of SnakeYAML: only the service names and the values of the 'depends_on',
+ * 'links' and 'networks' keys are kept, all other values are skipped without being materialized. Both the short
+ * (list) and the long (map) syntax of 'depends_on' and 'networks' are supported. Aliases (and merge keys) are not
+ * resolved.
+ *
+ * @author Stefan Kapferer
+ */
+public class ComposeFileReader {
+
+    private static final String SERVICES = "services";
+    private static final String DEPENDS_ON = "depends_on";
+    private static final String LINKS = "links";
+    private static final String NETWORKS = "networks";
+
+    /**
+     * Reads the services of a compose file.
+     *
+     * @param composeFile the compose file
+     * @return the services defined in the compose file (in the order of their definition)
+     * @throws FileNotFoundException if the compose file does not exist
+     * @throws IOException           if the compose file cannot be read
+     */
+    public List<ComposeService> read(Path composeFile) throws IOException {
+        try (Reader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(composeFile), StandardCharsets.UTF_8))) {
+            return read(reader);
+        } catch (NoSuchFileException e) {
+            throw new FileNotFoundException("The file '" + composeFile + "' does not exist.");
+        }
+    }
+
+    /**
+     * Reads the services of a compose file.
+     *
+     * @param reader the reader of the compose file (not closed by this method)
+     * @return the services defined in the compose file (in the order of their definition)
+     */
+    public List<ComposeService> read(Reader reader) {
+        List<ComposeService> services = new ArrayList<>();
+        Iterator<Event> events = new Yaml().parse(reader).iterator();
+        Event event = next(events, DocumentStartEvent.class);
+        if (event == null)
+            return services;
+        event = events.next();
+        if (!(event instanceof MappingStartEvent))
+            return services; // empty document or no mapping at the root
+        while (!((event = events.next()) instanceof MappingEndEvent)) {
+            if (isKey(event, SERVICES))
+                readServices(events, services);
+            else
+                skipValue(events);
+        }
+        return services;
+    }
+
+    private void readServices(Iterator<Event> events, List<ComposeService> services) {
+        Event event = events.next();
+        if (!(event instanceof MappingStartEvent)) {
+            skipRemainder(events, event);
+            return;
+        }
+        while (!((event = events.next()) instanceof MappingEndEvent)) {
+            String name = scalarValue(event);
+            skipRemainder(events, event); // complex keys
+            ComposeService service = new ComposeService(name);
+            Event value = events.next();
+            if (value instanceof MappingStartEvent) {
+                Event key;
+                while (!((key = events.next()) instanceof MappingEndEvent)) {
+                    if (isKey(key, DEPENDS_ON))
+                        readNames(events, service.dependencies, false);
+                    else if (isKey(key, LINKS))
+                        readNames(events, service.dependencies, true);
+                    else if (isKey(key, NETWORKS))
+                        readNames(events, service.networks, false);
+                    else
+                        skipValue(events);
+                }
+            } else {
+                skipRemainder(events, value);
+            }
+            if (name != null)
+                services.add(service);
+        }
+    }
+
+    /*
+     * Reads a list of names ('- name') or the keys of a map ('name: {...}'). Links may have the form 'service:alias'.
+     */
+    private void readNames(Iterator<Event> events, Set<String> names, boolean links) {
+        Event event = events.next();
+        if (event instanceof SequenceStartEvent) {
+            while (!((event = events.next()) instanceof SequenceEndEvent)) {
+                String name = scalarValue(event);
+                if (name != null)
+                    names.add(links && name.contains(":") ? name.substring(0, name.indexOf(':')) : name);
+                else
+                    skipRemainder(events, event);
+            }
+        } else if (event instanceof MappingStartEvent) {
+            while (!((event = events.next()) instanceof MappingEndEvent)) {
+                String name = scalarValue(event);
+                if (name != null)
+                    names.add(name);
+                skipValue(events);
+            }
+        } else {
+            skipRemainder(events, event);
+        }
+    }
+
+    private void skipValue(Iterator<Event> events) {
+        skipRemainder(events, events.next());
+    }
+
+    private void skipRemainder(Iterator<Event> events, Event first) {
+        if (!(first instanceof CollectionStartEvent))
+            return; // scalar or alias
+        int depth = 1;
+        while (depth > 0) {
+            Event event = events.next();
+            if (event instanceof CollectionStartEvent)
+                depth++;
+            else if (event instanceof CollectionEndEvent)
+                depth--;
+        }
+    }
+
+    private Event next(Iterator<Event> events, Class<? extends Event> type) {
+        while (events.hasNext()) {
+            Event event = events.next();
+            if (type.isInstance(event))
+                return event;
+        }
+        return null;
+    }
+
+    private boolean isKey(Event event, String key) {
+        return event instanceof ScalarEvent && key.equals(((ScalarEvent) event).getValue());
+    }
+
+    private String scalarValue(Event event) {
+        return event instanceof ScalarEvent ? ((ScalarEvent) event).getValue() : null;
+    }
+
+    /**
+     * A service of a compose file.
+     */
+    public static class ComposeService {
+
+        private final String name;
+        private final Set<String> dependencies = new LinkedHashSet<>();
+        private final Set<String> networks = new LinkedHashSet<>();
+
+        ComposeService(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Gets the name of the service.
+         *
+         * @return the name of the service
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the names of the services this service depends on ('depends_on' and 'links').
+         *
+         * @return the names of the services this service depends on
+         */
+        public Set<String> getDependencies() {
+            return Collections.unmodifiableSet(dependencies);
+        }
+
+        /**
+         * Gets the names of the networks the service is attached to.
+         *
+         * @return the names of the networks of the service
+         */
+        public Set<String> getNetworks() {
+            return Collections.unmodifiableSet(networks);
+        }
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Spring Boot executable (fat) jar: the application classes are located in BOOT-INF/classes, the libraries are
+ * nested jars in BOOT-INF/lib. The jar is memory-mapped and nested jars are opened in place, without extracting them.
+ *
+ * @author Stefan Kapferer
+ */
+class FatJar {
+
+    static final String CLASSES_PREFIX = "BOOT-INF/classes/";
+    static final String LIBRARIES_PREFIX = "BOOT-INF/lib/";
+
+    private final Path path;
+    private final MappedZipFile jar;
+    private List<MappedZipFile> libraries;
+
+    FatJar(Path path) throws IOException {
+        this.path = path;
+        this.jar = MappedZipFile.open(path);
+    }
+
+    Path getPath() {
+        return path;
+    }
+
+    MappedZipFile getJar() {
+        return jar;
+    }
+
+    /**
+     * Gets the nested library jars (opened on first access).
+     */
+    synchronized List<MappedZipFile> getLibraries() throws IOException {
+        if (libraries == null) {
+            List<MappedZipFile> nestedJars = new ArrayList<>();
+            for (MappedZipFile.Entry entry : jar.getEntries()) {
+                if (entry.getName().startsWith(LIBRARIES_PREFIX) && entry.getName().endsWith(".jar"))
+                    nestedJars.add(jar.openNested(entry));
+            }
+            libraries = Collections.unmodifiableList(nestedJars);
+        }
+        return libraries;
+    }
+
+    /**
+     * Opens a file (such as a class file) of the application classes or, if not found there, of the libraries.
+     *
+     * @param name the path of the file (such as 'org/example/Application.class')
+     * @return the input stream of the file, or null if there is no such file in the jar
+     */
+    InputStream openFile(String name) throws IOException {
+        MappedZipFile.Entry entry = jar.getEntry(CLASSES_PREFIX + name);
+        if (entry != null)
+            return jar.getInputStream(entry);
+        for (MappedZipFile library : getLibraries()) {
+            entry = library.getEntry(name);
+            if (entry != null)
+                return library.getInputStream(entry);
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Loads classes from Spring Boot executable (fat) jars, from the application classes (BOOT-INF/classes) as well as
+ * from the nested libraries (BOOT-INF/lib), without extracting anything to disk. Classes available from the parent
+ * class loader (such as the Spring annotations used by the discovery strategies) are loaded by the parent.
+ *
+ * @author Stefan Kapferer
+ */
+public class FatJarClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    private final List<FatJar> fatJars = new ArrayList<>();
+
+    public FatJarClassLoader(List<Path> fatJarPaths, ClassLoader parent) {
+        super(parent);
+        for (Path path : fatJarPaths) {
+            try {
+                fatJars.add(new FatJar(path));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not open the fat jar '" + path + "'.", e);
+            }
+        }
+    }
+
+    List<FatJar> getFatJars() {
+        return Collections.unmodifiableList(fatJars);
+    }
+
+    @Override
+    protected Class<?> findClass(String name) throws ClassNotFoundException {
+        String classFile = name.replace('.', '/') + ".class";
+        for (FatJar fatJar : fatJars) {
+            try (InputStream in = fatJar.openFile(classFile)) {
+                if (in == null)
+                    continue;
+                byte[] bytes = readFully(in);
+                return defineClass(name, bytes, 0, bytes.length);
+            } catch (IOException e) {
+                throw new ClassNotFoundException("Could not read the class '" + name + "' from '" + fatJar.getPath() + "'.", e);
+            }
+        }
+        throw new ClassNotFoundException(name);
+    }
+
+    private byte[] readFully(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = in.read(chunk)) > 0) {
+            out.write(chunk, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scans Spring Boot executable (fat) jars instead of the classpath of the running JVM. Only the requested
+ * (application) packages are read, from BOOT-INF/classes and from the nested library jars; the jars are memory-mapped
+ * and nested jars are read in place, so nothing is extracted to disk.
+ *
+ * @author Stefan Kapferer
+ */
+public class FatJarClasspathScanner extends BytecodeClasspathScanner {
+
+    private final FatJarClassLoader classLoader;
+
+    public FatJarClasspathScanner(List<Path> fatJars) {
+        this(new FatJarClassLoader(fatJars, FatJarClasspathScanner.class.getClassLoader()));
+    }
+
+    private FatJarClasspathScanner(FatJarClassLoader classLoader) {
+        super(classLoader);
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    protected List<Path> findClasspathRoots(String packagePath) {
+        List<Path> roots = new ArrayList<>();
+        for (FatJar fatJar : classLoader.getFatJars()) {
+            roots.add(fatJar.getPath());
+        }
+        return roots;
+    }
+
+    @Override
+    protected List<TypeDescriptor> scanClasspathRoot(Path root, String packagePath) {
+        FatJar fatJar = classLoader.getFatJars().stream().filter(j -> j.getPath().equals(root)).findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("'" + root + "' is not one of the scanned fat jars."));
+        String prefix = packagePath.isEmpty() ? "" : packagePath + "/";
+        List<TypeDescriptor> types = new ArrayList<>();
+        try {
+            scanZipFile(fatJar.getJar(), FatJar.CLASSES_PREFIX + prefix, types);
+            for (MappedZipFile library : fatJar.getLibraries()) {
+                scanZipFile(library, prefix, types);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not scan the fat jar '" + root + "'.", e);
+        }
+        return types;
+    }
+
+    private void scanZipFile(MappedZipFile zipFile, String prefix, List<TypeDescriptor> types) throws IOException {
+        for (MappedZipFile.Entry entry : zipFile.getEntries()) {
+            if (entry.isDirectory() || !entry.getName().startsWith(prefix) || !isClassFile(entry.getName()))
+                continue;
+            try (InputStream in = zipFile.getInputStream(entry)) {
+                readClassFile(in, zipFile.getName() + "!/" + entry.getName(), types);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.lang.reflect.Field;
+
+/**
+ * Describes a field of a (domain) type as it is needed to derive attributes and references: the field itself, its
+ * collection type (if any) and the element type, with type variables resolved against the described class.
+ *
+ * @author Stefan Kapferer
+ */
+public class FieldDescriptor {
+
+    private final Field field;
+    private final String collectionType;
+    private final Class<?> elementType;
+    private final String elementTypeName;
+
+    FieldDescriptor(Field field, String collectionType, Class<?> elementType, String elementTypeName) {
+        this.field = field;
+        this.collectionType = collectionType;
+        this.elementType = elementType;
+        this.elementTypeName = elementTypeName;
+    }
+
+    /**
+     * Gets the described field.
+     *
+     * @return the field
+     */
+    public Field getField() {
+        return field;
+    }
+
+    /**
+     * Gets the name of the field.
+     *
+     * @return the field name
+     */
+    public String getName() {
+        return field.getName();
+    }
+
+    /**
+     * Gets the collection type of the field: the simple name of the collection interface (List, Set or Collection),
+     * or "List" for arrays.
+     *
+     * @return the collection type, or null if the field is not a collection
+     */
+    public String getCollectionType() {
+        return collectionType;
+    }
+
+    /**
+     * Gets the element type of the field: the (resolved) type argument of a collection field, the component type of
+     * an array or the type of any other field.
+     *
+     * @return the element type
+     */
+    public Class<?> getElementType() {
+        return elementType;
+    }
+
+    /**
+     * Gets the simple name of the element type.
+     *
+     * @return the simple name of the element type
+     */
+    public String getElementTypeName() {
+        return elementTypeName;
+    }
+
+    @Override
+    public String toString() {
+        return field.getName() + ": " + (collectionType != null ? collectionType + "<" + elementTypeName + ">" : elementTypeName);
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the domain type of a (generic) method return or parameter type: wrapper types such as
+ * {@code ResponseEntity}, {@code Optional}, {@code Mono}/{@code Flux}, {@code CompletableFuture} or {@code Page} are
+ * unwrapped, collections and arrays are reduced to their element type (keeping the collection type), and type
+ * variables are resolved against the class hierarchy of a context type (such as a controller).
+ * <p>
+ * The results are cached per type, so that signatures shared by many methods are only resolved once.
+ *
+ * @author Stefan Kapferer
+ */
+public class GenericTypeResolver {
+
+    private static final ClassValue<Map<TypeVariable<?>, Type>> TYPE_ARGUMENTS = new ClassValue<Map<TypeVariable<?>, Type>>() {
+        @Override
+        protected Map<TypeVariable<?>, Type> computeValue(Class<?> type) {
+            Map<TypeVariable<?>, Type> typeArguments = new HashMap<>();
+            collectTypeArguments(type, typeArguments);
+            return Collections.unmodifiableMap(typeArguments);
+        }
+    };
+
+    private final Map<String, String> wrapperTypes = new ConcurrentHashMap<>();
+    private final Map<Object, ResolvedType> cache = new ConcurrentHashMap<>();
+
+    public GenericTypeResolver() {
+        unwrapping("org.springframework.http.HttpEntity", null);
+        unwrapping("org.springframework.http.ResponseEntity", null);
+        unwrapping("java.util.Optional", null);
+        unwrapping("java.util.concurrent.Future", null);
+        unwrapping("java.util.concurrent.CompletionStage", null);
+        unwrapping("java.util.concurrent.CompletableFuture", null);
+        unwrapping("reactor.core.publisher.Mono", null);
+        unwrapping("reactor.core.publisher.Flux", "List");
+        unwrapping("org.springframework.data.domain.Slice", "List");
+        unwrapping("org.springframework.data.domain.Page", "List");
+        unwrapping("org.springframework.hateoas.EntityModel", null);
+        unwrapping("org.springframework.hateoas.CollectionModel", "List");
+        unwrapping("org.springframework.hateoas.PagedModel", "List");
+    }
+
+    /**
+     * Creates a resolver with the same wrapper types as the given resolver, but with an empty cache.
+     *
+     * @param resolver the resolver whose wrapper types shall be used
+     */
+    public GenericTypeResolver(GenericTypeResolver resolver) {
+        this.wrapperTypes.putAll(resolver.wrapperTypes);
+    }
+
+    /**
+     * Registers an additional wrapper type which shall be replaced by its (first) type argument.
+     *
+     * @param typeName       the fully qualified name of the wrapper type
+     * @param collectionType the collection type represented by the wrapper (such as "List" for a stream of
+     *                       elements), or null if it wraps a single element
+     */
+    public GenericTypeResolver unwrapping(String typeName, String collectionType) {
+        wrapperTypes.put(typeName, collectionType == null ? "" : collectionType);
+        cache.clear();
+        return this;
+    }
+
+    /**
+     * Resolves the domain type of the given (generic) type.
+     *
+     * @param type    the type to be resolved, such as the generic return type of a method
+     * @param context the class against whose hierarchy type variables are resolved (such as the controller
+     *                declaring or inheriting the method)
+     * @return the resolved type
+     */
+    public ResolvedType resolve(Type type, Class<?> context) {
+        Object key = hasTypeVariables(type) ? Arrays.asList(context, type) : type;
+        ResolvedType resolvedType = cache.get(key);
+        if (resolvedType == null) {
+            resolvedType = resolve(type, TYPE_ARGUMENTS.get(context), null, new HashSet<>());
+            cache.putIfAbsent(key, resolvedType);
+        }
+        return resolvedType;
+    }
+
+    private ResolvedType resolve(Type type, Map<TypeVariable<?>, Type> typeArguments, String collectionType, Set<Class<?>> expandedCollections) {
+        Type resolved = resolveTypeVariable(type, typeArguments);
+        Class<?> rawType = erasure(resolved);
+        if (rawType.isArray())
+            return resolve(resolved instanceof GenericArrayType ? ((GenericArrayType) resolved).getGenericComponentType() : rawType.getComponentType(),
+                    typeArguments, collectionType != null ? collectionType : "List", expandedCollections);
+
+        String wrapperCollectionType = wrapperTypes.get(rawType.getName());
+        boolean collection = Collection.class.isAssignableFrom(rawType);
+        if (wrapperCollectionType == null && !collection)
+            return new ResolvedType(collectionType, rawType);
+        if (collectionType == null)
+            collectionType = collection ? collectionTypeOf(rawType) : (wrapperCollectionType.isEmpty() ? null : wrapperCollectionType);
+        if (!(resolved instanceof ParameterizedType) || ((ParameterizedType) resolved).getActualTypeArguments().length < 1) {
+            // raw wrapper, or a collection class extending a parameterized collection (such as CustomerList extends ArrayList<Customer>)
+            if (!collection)
+                return new ResolvedType(collectionType, Object.class);
+            // a collection class being its own element type (such as Node extends ArrayList<Node>) is not expanded again
+            if (!expandedCollections.add(rawType))
+                return new ResolvedType(collectionType, rawType);
+            Map<TypeVariable<?>, Type> collectionTypeArguments = TYPE_ARGUMENTS.get(rawType);
+            return resolve(resolveTypeVariable(Collection.class.getTypeParameters()[0], collectionTypeArguments), collectionTypeArguments, collectionType, expandedCollections);
+        }
+        return resolve(((ParameterizedType) resolved).getActualTypeArguments()[0], typeArguments, collectionType, expandedCollections);
+    }
+
+    private String collectionTypeOf(Class<?> collectionClass) {
+        if (List.class.isAssignableFrom(collectionClass))
+            return "List";
+        if (Set.class.isAssignableFrom(collectionClass))
+            return "Set";
+        return "Collection";
+    }
+
+    private boolean hasTypeVariables(Type type) {
+        if (type instanceof TypeVariable<?>)
+            return true;
+        if (type instanceof ParameterizedType)
+            return Arrays.stream(((ParameterizedType) type).getActualTypeArguments()).anyMatch(this::hasTypeVariables);
+        if (type instanceof GenericArrayType)
+            return hasTypeVariables(((GenericArrayType) type).getGenericComponentType());
+        if (type instanceof WildcardType)
+            return Arrays.stream(((WildcardType) type).getUpperBounds()).anyMatch(this::hasTypeVariables);
+        return false;
+    }
+
+    /**
+     * Gets the type arguments of all generic super classes and interfaces of the given class.
+     */
+    static Map<TypeVariable<?>, Type> typeArgumentsOf(Class<?> type) {
+        return TYPE_ARGUMENTS.get(type);
+    }
+
+    /**
+     * Replaces a type variable by its type argument (as long as one is known).
+     */
+    static Type resolveTypeVariable(Type type, Map<TypeVariable<?>, Type> typeArguments) {
+        Type resolved = type;
+        while (resolved instanceof TypeVariable<?> && typeArguments.containsKey(resolved)) {
+            resolved = typeArguments.get(resolved);
+        }
+        return resolved;
+    }
+
+    /**
+     * Gets the raw class of a type; unresolved type variables and wildcards are replaced by their (first) bound.
+     */
+    static Class<?> erasure(Type type) {
+        if (type instanceof Class<?>)
+            return (Class<?>) type;
+        if (type instanceof ParameterizedType)
+            return erasure(((ParameterizedType) type).getRawType());
+        if (type instanceof GenericArrayType)
+            return Array.newInstance(erasure(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        if (type instanceof WildcardType)
+            return erasure(((WildcardType) type).getUpperBounds()[0]);
+        if (type instanceof TypeVariable<?>)
+            return erasure(((TypeVariable<?>) type).getBounds()[0]);
+        return Object.class;
+    }
+
+    private static void collectTypeArguments(Class<?> type, Map<TypeVariable<?>, Type> typeArguments) {
+        List<Type> superTypes = new ArrayList<>(Arrays.asList(type.getGenericInterfaces()));
+        if (type.getGenericSuperclass() != null)
+            superTypes.add(0, type.getGenericSuperclass());
+        for (Type superType : superTypes) {
+            if (superType instanceof ParameterizedType) {
+                TypeVariable<?>[] variables = erasure(superType).getTypeParameters();
+                Type[] arguments = ((ParameterizedType) superType).getActualTypeArguments();
+                for (int i = 0; i < variables.length && i < arguments.length; i++) {
+                    typeArguments.putIfAbsent(variables[i], arguments[i]);
+                }
+            }
+            collectTypeArguments(erasure(superType), typeArguments);
+        }
+    }
+
+    /**
+     * The result of a type resolution: the (raw) domain type and the collection type, if the domain type was
+     * wrapped into a collection, array or a wrapper type representing multiple elements.
+     */
+    public static class ResolvedType {
+
+        private final String collectionType;
+        private final Class<?> type;
+
+        public ResolvedType(String collectionType, Class<?> type) {
+            this.collectionType = collectionType;
+            this.type = type;
+        }
+
+        /**
+         * Gets the collection type (List, Set or Collection).
+         *
+         * @return the collection type, or null if the type is not a collection
+         */
+        public String getCollectionType() {
+            return collectionType;
+        }
+
+        /**
+         * Gets the resolved (raw) type.
+         *
+         * @return the resolved type
+         */
+        public Class<?> getType() {
+            return type;
+        }
+
+        @Override
+        public String toString() {
+            return collectionType != null ? collectionType + "<" + type.getSimpleName() + ">" : type.getSimpleName();
+        }
+    }
+
+}
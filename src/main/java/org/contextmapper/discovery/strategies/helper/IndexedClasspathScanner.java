@@ -0,0 +1,213 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Answers scans from the discovery index files generated at build time by the context-map-discovery-index-processor
+ * (see its DiscoveryIndexProcessor for the format of the index). Classpath entries without an index are scanned by
+ * the given fallback scanner.
+ *
+ * @author Stefan Kapferer
+ */
+public class IndexedClasspathScanner implements ClasspathScanner {
+
+    static final String INDEX_LOCATION = "META-INF/context-map-discovery.index";
+
+    private final ClasspathScanner fallbackScanner;
+    private final String indexLocation;
+    private List<TypeDescriptor> indexedTypes;
+    private Set<Path> indexedRoots;
+    private boolean indexOnly;
+
+    public IndexedClasspathScanner(ClasspathScanner fallbackScanner) {
+        this(fallbackScanner, INDEX_LOCATION);
+    }
+
+    IndexedClasspathScanner(ClasspathScanner fallbackScanner, String indexLocation) {
+        this.fallbackScanner = fallbackScanner;
+        this.indexLocation = indexLocation;
+    }
+
+    @Override
+    public Collection<TypeDescriptor> scan(String packageName) {
+        Map<String, TypeDescriptor> types = new LinkedHashMap<>();
+        for (TypeDescriptor type : getIndexedTypes()) {
+            if (type.isInPackage(packageName))
+                types.put(type.getName(), type);
+        }
+        if (indexOnly && !types.isEmpty())
+            return types.values();
+        for (TypeDescriptor type : fallbackScanner.scan(packageName, getIndexedRoots())) {
+            types.putIfAbsent(type.getName(), type);
+        }
+        return types.values();
+    }
+
+    /**
+     * Enables the index-only mode: packages covered by a discovery index are not scanned at all, so types on
+     * classpath entries without an index are only found within packages which are not indexed anywhere. Use this mode
+     * only if all relevant classpath entries have been indexed at build time.
+     *
+     * @param indexOnly true, if indexed packages shall be answered from the index alone
+     */
+    public void setIndexOnly(boolean indexOnly) {
+        this.indexOnly = indexOnly;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return fallbackScanner.getClassLoader();
+    }
+
+    @Override
+    public void close() {
+        fallbackScanner.close();
+    }
+
+    /**
+     * Checks whether there is at least one discovery index on the classpath.
+     *
+     * @return true, if a discovery index has been found. false otherwise.
+     */
+    public boolean hasIndex() {
+        return !getIndexedTypes().isEmpty();
+    }
+
+    private synchronized Set<Path> getIndexedRoots() {
+        getIndexedTypes();
+        return indexedRoots;
+    }
+
+    private synchronized List<TypeDescriptor> getIndexedTypes() {
+        if (indexedTypes == null) {
+            Map<String, TypeDescriptor> types = new LinkedHashMap<>();
+            Set<Path> roots = new HashSet<>();
+            try {
+                Enumeration<URL> indexes = getClassLoader().getResources(indexLocation);
+                while (indexes.hasMoreElements()) {
+                    URL index = indexes.nextElement();
+                    Path root = BytecodeClasspathScanner.toClasspathRoot(index, indexLocation);
+                    if (root != null)
+                        roots.add(root.toAbsolutePath().normalize());
+                    try (InputStream in = index.openStream()) {
+                        for (TypeDescriptor type : readIndex(in)) {
+                            types.putIfAbsent(type.getName(), type);
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read the discovery index '" + indexLocation + "'.", e);
+            }
+            indexedTypes = new ArrayList<>(types.values());
+            indexedRoots = roots;
+        }
+        return indexedTypes;
+    }
+
+    /**
+     * Reads the type descriptors from a discovery index.
+     */
+    List<TypeDescriptor> readIndex(InputStream index) throws IOException {
+        List<TypeDescriptor> types = new ArrayList<>();
+        IndexedType current = null;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(index, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isEmpty() || line.startsWith("#"))
+                continue;
+            List<String> fields = Arrays.stream(line.split("\t")).map(f -> URLDecoder.decode(f, StandardCharsets.UTF_8)).collect(Collectors.toList());
+            switch (fields.get(0)) {
+                case "T":
+                    if (current != null)
+                        types.add(current.toTypeDescriptor());
+                    current = new IndexedType(fields.get(1), fields.size() > 2 && !fields.get(2).isEmpty() ? fields.get(2) : null);
+                    break;
+                case "A":
+                    addAnnotation(requireType(current, line).annotations, fields);
+                    break;
+                case "M":
+                    requireType(current, line).methods.add(new IndexedMethod(fields.get(1), fields.get(2)));
+                    break;
+                case "MA":
+                    List<IndexedMethod> methods = requireType(current, line).methods;
+                    if (methods.isEmpty())
+                        throw new IOException("Invalid discovery index: method annotation without method ('" + line + "').");
+                    addAnnotation(methods.get(methods.size() - 1).annotations, fields);
+                    break;
+                default:
+                    throw new IOException("Invalid discovery index: unknown record '" + line + "'.");
+            }
+        }
+        if (current != null)
+            types.add(current.toTypeDescriptor());
+        return types;
+    }
+
+    private IndexedType requireType(IndexedType type, String line) throws IOException {
+        if (type == null)
+            throw new IOException("Invalid discovery index: record without type ('" + line + "').");
+        return type;
+    }
+
+    private void addAnnotation(Map<String, Map<String, List<String>>> annotations, List<String> fields) {
+        Map<String, List<String>> elements = annotations.computeIfAbsent(fields.get(1), name -> new LinkedHashMap<>());
+        if (fields.size() > 2)
+            elements.put(fields.get(2), new ArrayList<>(fields.subList(3, fields.size())));
+    }
+
+    private class IndexedType {
+        private final String name;
+        private final String superName;
+        private final Map<String, Map<String, List<String>>> annotations = new LinkedHashMap<>();
+        private final List<IndexedMethod> methods = new ArrayList<>();
+
+        IndexedType(String name, String superName) {
+            this.name = name;
+            this.superName = superName;
+        }
+
+        TypeDescriptor toTypeDescriptor() {
+            List<TypeDescriptor.Member> members = methods.stream()
+                    .map(m -> new TypeDescriptor.Member(m.name, m.descriptor, null, m.annotations))
+                    .collect(Collectors.toList());
+            return new TypeDescriptor(name, superName, new ArrayList<>(), annotations, new ArrayList<>(), members);
+        }
+    }
+
+    private class IndexedMethod {
+        private final String name;
+        private final String descriptor;
+        private final Map<String, Map<String, List<String>>> annotations = new LinkedHashMap<>();
+
+        IndexedMethod(String name, String descriptor) {
+            this.name = name;
+            this.descriptor = descriptor;
+        }
+    }
+
+}
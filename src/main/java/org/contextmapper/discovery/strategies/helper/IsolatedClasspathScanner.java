@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scans a given set of jar files and class directories (instead of the classpath of the running JVM). The types are
+ * loaded by a dedicated {@link ChildFirstClassLoader}, which is closed together with the scanner, so that the loaded
+ * classes can be garbage collected after the discovery.
+ *
+ * @author Stefan Kapferer
+ */
+public class IsolatedClasspathScanner extends BytecodeClasspathScanner {
+
+    private final List<Path> classpath;
+    private final ChildFirstClassLoader classLoader;
+
+    public IsolatedClasspathScanner(List<Path> classpath) {
+        this(classpath, new ChildFirstClassLoader(toURLs(classpath), IsolatedClasspathScanner.class.getClassLoader()));
+    }
+
+    private IsolatedClasspathScanner(List<Path> classpath, ChildFirstClassLoader classLoader) {
+        super(classLoader);
+        this.classpath = new ArrayList<>(classpath);
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    protected List<Path> findClasspathRoots(String packagePath) {
+        return new ArrayList<>(classpath);
+    }
+
+    @Override
+    public void close() {
+        try {
+            classLoader.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close the class loader of the scanned classpath.", e);
+        }
+    }
+
+    private static URL[] toURLs(List<Path> classpath) {
+        URL[] urls = new URL[classpath.size()];
+        for (int i = 0; i < classpath.size(); i++) {
+            if (!classpath.get(i).toFile().exists())
+                throw new IllegalArgumentException("The classpath entry '" + classpath.get(i) + "' does not exist.");
+            try {
+                urls[i] = classpath.get(i).toUri().toURL();
+            } catch (MalformedURLException e) {
+                throw new IllegalArgumentException("The classpath entry '" + classpath.get(i) + "' is not valid.", e);
+            }
+        }
+        return urls;
+    }
+
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Read-only view of a zip (jar) file backed by a (memory-mapped) {@link ByteBuffer}. Entries are read directly from
+ * the buffer, so a jar stored uncompressed within another jar (such as the libraries of a Spring Boot fat jar) can
+ * be opened without extracting it.
+ * <p>
+ * ZIP64 archives (larger than 4 GB or with more than 65535 entries) are not supported.
+ *
+ * @author Stefan Kapferer
+ */
+class MappedZipFile {
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_FILE_HEADER_SIGNATURE = 0x04034b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int MAX_COMMENT_SIZE = 0xffff;
+    private static final int STORED = 0;
+    private static final int DEFLATED = 8;
+
+    private final String name;
+    private final ByteBuffer buffer;
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    MappedZipFile(String name, ByteBuffer buffer) throws IOException {
+        this.name = name;
+        this.buffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        readCentralDirectory();
+    }
+
+    /**
+     * Maps a zip file into memory.
+     */
+    static MappedZipFile open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("The zip file '" + file + "' is too large to be mapped.");
+            // the mapping stays valid after the channel has been closed
+            return new MappedZipFile(file.toString(), channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Collection<Entry> getEntries() {
+        return Collections.unmodifiableCollection(entries.values());
+    }
+
+    Entry getEntry(String entryName) {
+        return entries.get(entryName);
+    }
+
+    InputStream getInputStream(Entry entry) throws IOException {
+        ByteBuffer data = getData(entry);
+        if (entry.method == STORED)
+            return new ByteBufferInputStream(data);
+        if (entry.method == DEFLATED)
+            return new EntryInflaterInputStream(new ByteBufferInputStream(data));
+        throw new IOException("The entry '" + entry.name + "' of '" + name + "' uses an unsupported compression method (" + entry.method + ").");
+    }
+
+    /**
+     * Opens a zip file nested within this zip file. Uncompressed entries are opened in place (zero-copy); compressed
+     * entries are inflated into memory.
+     */
+    MappedZipFile openNested(Entry entry) throws IOException {
+        String nestedName = name + "!/" + entry.name;
+        if (entry.method == STORED)
+            return new MappedZipFile(nestedName, getData(entry));
+        ByteArrayOutputStream out = new ByteArrayOutputStream((int) entry.size);
+        try (InputStream in = getInputStream(entry)) {
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) > 0) {
+                out.write(chunk, 0, read);
+            }
+        }
+        return new MappedZipFile(nestedName, ByteBuffer.wrap(out.toByteArray()));
+    }
+
+    private ByteBuffer getData(Entry entry) throws IOException {
+        int header = entry.localHeaderOffset;
+        if (buffer.getInt(header) != LOCAL_FILE_HEADER_SIGNATURE)
+            throw new IOException("The zip file '" + name + "' is corrupt (no local header for '" + entry.name + "').");
+        int dataStart = header + 30 + Short.toUnsignedInt(buffer.getShort(header + 26)) + Short.toUnsignedInt(buffer.getShort(header + 28));
+        ByteBuffer data = buffer.duplicate();
+        data.position(dataStart);
+        data.limit(dataStart + (int) entry.compressedSize);
+        return data.slice();
+    }
+
+    private void readCentralDirectory() throws IOException {
+        int end = findEndOfCentralDirectory();
+        int entryCount = Short.toUnsignedInt(buffer.getShort(end + 10));
+        long centralDirectorySize = Integer.toUnsignedLong(buffer.getInt(end + 12));
+        long centralDirectoryOffset = Integer.toUnsignedLong(buffer.getInt(end + 16));
+        // executable jars may start with a launch script; all offsets are relative to the start of the archive
+        int archiveStart = (int) (end - centralDirectorySize - centralDirectoryOffset);
+        int position = (int) (archiveStart + centralDirectoryOffset);
+        for (int i = 0; i < entryCount; i++) {
+            if (buffer.getInt(position) != CENTRAL_DIRECTORY_HEADER_SIGNATURE)
+                throw new IOException("The zip file '" + name + "' is corrupt (invalid central directory).");
+            int nameLength = Short.toUnsignedInt(buffer.getShort(position + 28));
+            int extraLength = Short.toUnsignedInt(buffer.getShort(position + 30));
+            int commentLength = Short.toUnsignedInt(buffer.getShort(position + 32));
+            byte[] nameBytes = new byte[nameLength];
+            ByteBuffer nameBuffer = buffer.duplicate();
+            nameBuffer.position(position + 46);
+            nameBuffer.get(nameBytes);
+            Entry entry = new Entry(new String(nameBytes, StandardCharsets.UTF_8),
+                    Short.toUnsignedInt(buffer.getShort(position + 10)),
+                    Integer.toUnsignedLong(buffer.getInt(position + 20)),
+                    Integer.toUnsignedLong(buffer.getInt(position + 24)),
+                    (int) (archiveStart + Integer.toUnsignedLong(buffer.getInt(position + 42))));
+            entries.put(entry.name, entry);
+            position += 46 + nameLength + extraLength + commentLength;
+        }
+    }
+
+    private int findEndOfCentralDirectory() throws IOException {
+        int lowest = Math.max(0, buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE - MAX_COMMENT_SIZE);
+        for (int position = buffer.limit() - END_OF_CENTRAL_DIRECTORY_SIZE; position >= lowest; position--) {
+            if (buffer.getInt(position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE)
+                return position;
+        }
+        throw new IOException("'" + name + "' is not a valid zip file.");
+    }
+
+    /**
+     * Entry of a zip file.
+     */
+    static class Entry {
+        private final String name;
+        private final int method;
+        private final long compressedSize;
+        private final long size;
+        private final int localHeaderOffset;
+
+        Entry(String name, int method, long compressedSize, long size, int localHeaderOffset) {
+            this.name = name;
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+
+    /**
+     * Inflates a compressed entry; the native resources of the inflater are released when the stream is closed.
+     */
+    private static class EntryInflaterInputStream extends InflaterInputStream {
+        private boolean closed;
+
+        EntryInflaterInputStream(InputStream in) {
+            super(in, new Inflater(true));
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed)
+                return;
+            closed = true;
+            try {
+                super.close();
+            } finally {
+                inf.end();
+            }
+        }
+    }
+
+    private static class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining())
+                return -1;
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.*;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.*;
+
+/**
+ * Reads an OpenAPI specification (YAML or JSON) in streaming mode and returns a reduced specification which only
+ * contains the component schemas reachable from the rest of the specification (paths, parameters, responses, etc.).
+ * <p>
+ * The specification is streamed twice: the first pass only records the schema references (the schemas are not
+ * materialized), the second pass copies the specification without the unreachable schemas. The full specification
+ * is never held in memory, which keeps the heap usage low for huge generated specifications of which a Bounded
+ * Context only uses a few schemas.
+ *
+ * @author Stefan Kapferer
+ */
+public class ReachableSchemaReader {
+
+    private static final String SCHEMA_REF_PREFIX = "#/components/schemas/";
+
+    /**
+     * Reads the given specification and removes all component schemas which are not reachable.
+     *
+     * @param location the file path or URL of the specification
+     * @return the reduced specification (YAML)
+     * @throws IOException if the specification cannot be read
+     */
+    public String read(String location) throws IOException {
+        Set<String> reachableSchemas = findReachableSchemas(location);
+        StringWriter writer = new StringWriter();
+        try (Reader reader = open(location)) {
+            copyReachable(reader, writer, reachableSchemas);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * Finds the names of the component schemas which are reachable from the rest of the specification.
+     *
+     * @param location the file path or URL of the specification
+     * @return the names of the reachable schemas
+     * @throws IOException if the specification cannot be read
+     */
+    public Set<String> findReachableSchemas(String location) throws IOException {
+        Set<String> roots = new HashSet<>();
+        Map<String, Set<String>> schemaReferences = new HashMap<>();
+        try (Reader reader = open(location)) {
+            PathTracker path = new PathTracker();
+            for (Event event : new Yaml().parse(reader)) {
+                if (event instanceof ScalarEvent && path.isValue() && "$ref".equals(path.currentKey())) {
+                    String ref = ((ScalarEvent) event).getValue();
+                    if (ref.startsWith(SCHEMA_REF_PREFIX)) {
+                        String schemaName = path.currentSchemaName();
+                        String referencedSchema = ref.substring(SCHEMA_REF_PREFIX.length());
+                        if (schemaName == null)
+                            roots.add(referencedSchema);
+                        else
+                            schemaReferences.computeIfAbsent(schemaName, name -> new HashSet<>()).add(referencedSchema);
+                    }
+                }
+                path.update(event);
+            }
+        }
+
+        Set<String> reachable = new HashSet<>();
+        Deque<String> queue = new ArrayDeque<>(roots);
+        while (!queue.isEmpty()) {
+            String schema = queue.poll();
+            if (reachable.add(schema))
+                queue.addAll(schemaReferences.getOrDefault(schema, Collections.emptySet()));
+        }
+        return reachable;
+    }
+
+    private void copyReachable(Reader reader, Writer writer, Set<String> reachableSchemas) throws IOException {
+        Emitter emitter = new Emitter(writer, new DumperOptions());
+        PathTracker path = new PathTracker();
+        int skippedDepth = 0;
+        for (Event event : new Yaml().parse(reader)) {
+            if (skippedDepth == 0 && event instanceof ScalarEvent && path.isKey() && path.isInSchemas()
+                    && !reachableSchemas.contains(((ScalarEvent) event).getValue())) {
+                // skip the name of the unreachable schema and its value
+                skippedDepth = -1;
+            } else if (skippedDepth != 0) {
+                if (event instanceof CollectionStartEvent)
+                    skippedDepth = Math.abs(skippedDepth) + 1;
+                else if (event instanceof CollectionEndEvent)
+                    skippedDepth--;
+                if (skippedDepth == 1 || skippedDepth == -1)
+                    skippedDepth = 0; // end of the skipped value (scalar or collection)
+            } else {
+                emitter.emit(event);
+            }
+            path.update(event);
+        }
+    }
+
+    private Reader open(String location) throws IOException {
+        InputStream in = Files.exists(Paths.get(location)) ? Files.newInputStream(Paths.get(location)) : new URL(location).openStream();
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Tracks the position (mapping keys) of the current event within the document.
+     */
+    private static class PathTracker {
+
+        private final Deque<Frame> frames = new ArrayDeque<>();
+
+        void update(Event event) {
+            Frame top = frames.peek();
+            if (event instanceof CollectionStartEvent) {
+                frames.push(new Frame(event instanceof MappingStartEvent));
+            } else if (event instanceof CollectionEndEvent) {
+                frames.pop();
+                valueCompleted();
+            } else if (event instanceof ScalarEvent || event instanceof AliasEvent) {
+                if (top != null && top.mapping && top.expectKey) {
+                    top.key = event instanceof ScalarEvent ? ((ScalarEvent) event).getValue() : null;
+                    top.expectKey = false;
+                } else {
+                    valueCompleted();
+                }
+            }
+        }
+
+        boolean isKey() {
+            Frame top = frames.peek();
+            return top != null && top.mapping && top.expectKey;
+        }
+
+        boolean isValue() {
+            Frame top = frames.peek();
+            return top != null && top.mapping && !top.expectKey;
+        }
+
+        String currentKey() {
+            Frame top = frames.peek();
+            return top != null ? top.key : null;
+        }
+
+        boolean isInSchemas() {
+            if (frames.size() != 3)
+                return false;
+            Iterator<Frame> iterator = frames.descendingIterator();
+            return "components".equals(iterator.next().key) && "schemas".equals(iterator.next().key);
+        }
+
+        String currentSchemaName() {
+            if (frames.size() < 4)
+                return null;
+            Iterator<Frame> iterator = frames.descendingIterator();
+            if (!"components".equals(iterator.next().key) || !"schemas".equals(iterator.next().key))
+                return null;
+            return iterator.next().key;
+        }
+
+        private void valueCompleted() {
+            Frame top = frames.peek();
+            if (top != null && top.mapping)
+                top.expectKey = true;
+        }
+    }
+
+    private static class Frame {
+        private final boolean mapping;
+        private boolean expectKey;
+        private String key;
+
+        Frame(boolean mapping) {
+            this.mapping = mapping;
+            this.expectKey = mapping;
+        }
+    }
+
+}
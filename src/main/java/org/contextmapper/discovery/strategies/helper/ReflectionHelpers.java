@@ -15,12 +15,8 @@
  */
 package org.contextmapper.discovery.strategies.helper;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.Modifier;
-import java.lang.reflect.ParameterizedType;
-import java.lang.reflect.Type;
+import java.lang.reflect.*;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * Some helper methods for scanning entities etc.
@@ -29,6 +25,13 @@ import java.util.stream.Collectors;
  */
 public class ReflectionHelpers {
 
+    private static final ClassValue<List<FieldDescriptor>> FIELD_DESCRIPTORS = new ClassValue<List<FieldDescriptor>>() {
+        @Override
+        protected List<FieldDescriptor> computeValue(Class<?> type) {
+            return Collections.unmodifiableList(describeFields(type));
+        }
+    };
+
     /**
      * Gets the actual types of a parameterized type.
      *
@@ -46,7 +49,7 @@ public class ReflectionHelpers {
     }
 
     /**
-     * Gets all fields of a type.
+     * Gets all fields of a type (including the inherited ones, super class fields first).
      *
      * @param type the type for which the fields shall be returned
      * @return the list of fields of the given type
@@ -56,11 +59,27 @@ public class ReflectionHelpers {
             return Collections.emptyList();
         }
 
-        List<Field> result = new ArrayList<>(getAllFieldsOfType(type.getSuperclass()));
-        result.addAll(Arrays.asList(type.getDeclaredFields()).stream().filter(f -> !f.getName().startsWith("$")).collect(Collectors.toSet()));
+        List<Field> result = new ArrayList<>();
+        for (FieldDescriptor descriptor : FIELD_DESCRIPTORS.get(type)) {
+            result.add(descriptor.getField());
+        }
         return result;
     }
 
+    /**
+     * Gets the descriptors of all fields of a type (including the inherited ones, super class fields first and each
+     * class in declaration order). The descriptors are computed once per class and cached afterwards.
+     *
+     * @param type the type for which the field descriptors shall be returned
+     * @return the (unmodifiable) list of field descriptors of the given type
+     */
+    public List<FieldDescriptor> getFieldDescriptors(Class<?> type) {
+        if (type == null) {
+            return Collections.emptyList();
+        }
+        return FIELD_DESCRIPTORS.get(type);
+    }
+
     /**
      * Checks whether a type is a collection, set, or list.
      *
@@ -68,13 +87,41 @@ public class ReflectionHelpers {
      * @return true, if the given type is a set, list, or collection. false otherwise.
      */
     public boolean isCollectionType(Class<?> type) {
-        if (type.equals(List.class))
-            return true;
-        else if (type.equals(Set.class))
-            return true;
-        else if (type.equals(Collection.class))
-            return true;
-        return false;
+        return isCollection(type);
+    }
+
+    private static List<FieldDescriptor> describeFields(Class<?> type) {
+        Deque<Class<?>> hierarchy = new ArrayDeque<>();
+        for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+            hierarchy.push(current);
+        }
+        Map<TypeVariable<?>, Type> typeArguments = GenericTypeResolver.typeArgumentsOf(type);
+        List<FieldDescriptor> descriptors = new ArrayList<>();
+        for (Class<?> declaringType : hierarchy) {
+            for (Field field : declaringType.getDeclaredFields()) {
+                if (!field.getName().startsWith("$"))
+                    descriptors.add(describeField(field, typeArguments));
+            }
+        }
+        return descriptors;
+    }
+
+    private static FieldDescriptor describeField(Field field, Map<TypeVariable<?>, Type> typeArguments) {
+        Type genericType = GenericTypeResolver.resolveTypeVariable(field.getGenericType(), typeArguments);
+        Class<?> rawType = GenericTypeResolver.erasure(genericType);
+        if (rawType.isArray())
+            return new FieldDescriptor(field, "List", rawType.getComponentType(), rawType.getComponentType().getSimpleName());
+        if (isCollection(rawType)) {
+            Class<?> elementType = Object.class;
+            if (genericType instanceof ParameterizedType && ((ParameterizedType) genericType).getActualTypeArguments().length > 0)
+                elementType = GenericTypeResolver.erasure(GenericTypeResolver.resolveTypeVariable(((ParameterizedType) genericType).getActualTypeArguments()[0], typeArguments));
+            return new FieldDescriptor(field, rawType.getSimpleName(), elementType, elementType.getSimpleName());
+        }
+        return new FieldDescriptor(field, null, rawType, rawType.getSimpleName());
+    }
+
+    private static boolean isCollection(Class<?> type) {
+        return type.equals(List.class) || type.equals(Set.class) || type.equals(Collection.class);
     }
 
 }
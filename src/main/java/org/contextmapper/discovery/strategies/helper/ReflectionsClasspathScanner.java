@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.reflections.Reflections;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+
+import java.util.*;
+
+import static org.reflections.scanners.Scanners.*;
+
+/**
+ * Scans the classpath with the Reflections library. In contrast to the {@link BytecodeClasspathScanner}, this
+ * backend loads all annotated types of the scanned package.
+ *
+ * @author Stefan Kapferer
+ */
+public class ReflectionsClasspathScanner implements ClasspathScanner {
+
+    private ClassLoader classLoader;
+
+    public ReflectionsClasspathScanner() {
+        this(ClasspathHelper.contextClassLoader() != null ? ClasspathHelper.contextClassLoader() : ClasspathHelper.staticClassLoader());
+    }
+
+    public ReflectionsClasspathScanner(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    @Override
+    public Collection<TypeDescriptor> scan(String packageName) {
+        Reflections reflections = new Reflections(new ConfigurationBuilder()
+                .setUrls(ClasspathHelper.forPackage(packageName, classLoader))
+                .setClassLoaders(new ClassLoader[]{classLoader})
+                .setScanners(TypesAnnotated, MethodsAnnotated)
+                .filterInputsBy(new FilterBuilder().includePackage(packageName))
+        );
+        Set<String> typeNames = new HashSet<>();
+        reflections.getStore().getOrDefault(TypesAnnotated.index(), Collections.emptyMap()).values().forEach(typeNames::addAll);
+        for (Set<String> methods : reflections.getStore().getOrDefault(MethodsAnnotated.index(), Collections.emptyMap()).values()) {
+            for (String method : methods) {
+                String declaringTypeAndName = method.substring(0, method.indexOf('('));
+                typeNames.add(declaringTypeAndName.substring(0, declaringTypeAndName.lastIndexOf('.')));
+            }
+        }
+
+        List<TypeDescriptor> types = new ArrayList<>();
+        for (String typeName : typeNames) {
+            if (!typeName.startsWith(packageName))
+                continue;
+            try {
+                types.add(TypeDescriptor.of(Class.forName(typeName, false, classLoader)));
+            } catch (ClassNotFoundException | LinkageError e) {
+                // type cannot be loaded; Reflections would skip it as well
+            }
+        }
+        return types;
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return classLoader;
+    }
+
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persistent on-disk cache for the scan results of classpath entries (jar files and class directories).
+ * <p>
+ * The results are cached per classpath entry and package. A cached result is reused as long as the fingerprint of
+ * the entry matches: for jar files the size and modification time, or (if the modification time changed, as after
+ * a fresh checkout) the content hash; for directories a hash over the names, sizes and modification times of the
+ * contained class files. Entries added to the classpath are simply scanned, cache files of entries which no longer
+ * exist are removed.
+ *
+ * @author Stefan Kapferer
+ */
+public class ScanCache {
+
+    private static Logger LOG = LoggerFactory.getLogger(ScanCache.class);
+
+    private static final int FORMAT_VERSION = 1;
+    private static final String CACHE_FILE_SUFFIX = ".scan";
+
+    private File directory;
+
+    public ScanCache(File directory) {
+        if (directory == null)
+            throw new IllegalArgumentException("The scan cache directory must not be null.");
+        if (!directory.exists() && !directory.mkdirs())
+            throw new IllegalArgumentException("The scan cache directory '" + directory + "' cannot be created.");
+        if (!directory.isDirectory())
+            throw new IllegalArgumentException("The scan cache location '" + directory + "' is not a directory.");
+        this.directory = directory;
+        removeStaleEntries();
+    }
+
+    /**
+     * Gets the cached scan result of a classpath entry, or scans the entry and caches the result.
+     *
+     * @param classpathEntry the jar file or class directory
+     * @param packagePath    the path of the scanned package within the entry (such as 'org/example')
+     * @param scanner        scans the entry if there is no valid cached result
+     * @return the descriptors of the types found within the package of the given classpath entry
+     */
+    public List<TypeDescriptor> getOrScan(Path classpathEntry, String packagePath, Supplier<List<TypeDescriptor>> scanner) {
+        Path entry = classpathEntry.toAbsolutePath().normalize();
+        File cacheFile = new File(directory, hash((entry + "|" + packagePath).getBytes(StandardCharsets.UTF_8)) + CACHE_FILE_SUFFIX);
+        Fingerprint fingerprint = new Fingerprint(entry, packagePath);
+
+        List<TypeDescriptor> cachedTypes = readCacheFile(cacheFile, entry, packagePath, fingerprint);
+        if (cachedTypes != null)
+            return cachedTypes;
+
+        List<TypeDescriptor> types = scanner.get();
+        writeCacheFile(cacheFile, entry, packagePath, fingerprint, types);
+        return types;
+    }
+
+    private List<TypeDescriptor> readCacheFile(File cacheFile, Path entry, String packagePath, Fingerprint fingerprint) {
+        if (!cacheFile.exists())
+            return null;
+        List<TypeDescriptor> types;
+        boolean modificationTimeChanged;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+            if (in.readInt() != FORMAT_VERSION || !entry.toString().equals(in.readUTF()) || !packagePath.equals(in.readUTF()))
+                return null;
+            long size = in.readLong();
+            long lastModified = in.readLong();
+            String contentHash = in.readUTF();
+            if (!fingerprint.matches(size, lastModified, contentHash))
+                return null;
+            modificationTimeChanged = lastModified != fingerprint.getLastModified();
+            int typeCount = in.readInt();
+            types = new ArrayList<>(typeCount);
+            for (int i = 0; i < typeCount; i++) {
+                types.add(readType(in));
+            }
+        } catch (IOException e) {
+            LOG.warn("Ignoring the unreadable scan cache file '" + cacheFile + "': " + e.getMessage());
+            return null;
+        }
+        // the content hash matched; store the current modification time, so that subsequent runs don't hash again
+        if (modificationTimeChanged)
+            writeCacheFile(cacheFile, entry, packagePath, fingerprint, types);
+        return types;
+    }
+
+    private void writeCacheFile(File cacheFile, Path entry, String packagePath, Fingerprint fingerprint, List<TypeDescriptor> types) {
+        File tempFile = new File(directory, cacheFile.getName() + "." + UUID.randomUUID() + ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))) {
+                out.writeInt(FORMAT_VERSION);
+                out.writeUTF(entry.toString());
+                out.writeUTF(packagePath);
+                out.writeLong(fingerprint.getSize());
+                out.writeLong(fingerprint.getLastModified());
+                out.writeUTF(fingerprint.getContentHash());
+                out.writeInt(types.size());
+                for (TypeDescriptor type : types) {
+                    writeType(out, type);
+                }
+            }
+            // concurrent discovery runs may share the cache directory; readers only ever see complete files
+            Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            LOG.warn("Could not write the scan cache file '" + cacheFile + "': " + e.getMessage());
+            tempFile.delete();
+        }
+    }
+
+    private void removeStaleEntries() {
+        File[] cacheFiles = directory.listFiles((dir, name) -> name.endsWith(CACHE_FILE_SUFFIX));
+        if (cacheFiles == null)
+            return;
+        for (File cacheFile : cacheFiles) {
+            String entry = null;
+            try (DataInputStream in = new DataInputStream(new FileInputStream(cacheFile))) {
+                if (in.readInt() == FORMAT_VERSION)
+                    entry = in.readUTF();
+            } catch (IOException e) {
+                // unreadable files are removed as well
+            }
+            if (entry == null || !new File(entry).exists())
+                cacheFile.delete();
+        }
+    }
+
+    private void writeType(DataOutputStream out, TypeDescriptor type) throws IOException {
+        out.writeUTF(type.getName());
+        writeNullable(out, type.getSuperName());
+        out.writeInt(type.getInterfaceNames().size());
+        for (String interfaceName : type.getInterfaceNames()) {
+            out.writeUTF(interfaceName);
+        }
+        writeAnnotations(out, type.getAnnotations());
+        writeMembers(out, type.getFields());
+        writeMembers(out, type.getMethods());
+    }
+
+    private TypeDescriptor readType(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        String superName = readNullable(in);
+        int interfaceCount = in.readInt();
+        List<String> interfaceNames = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaceNames.add(in.readUTF());
+        }
+        Map<String, Map<String, List<String>>> annotations = readAnnotations(in);
+        List<TypeDescriptor.Member> fields = readMembers(in);
+        List<TypeDescriptor.Member> methods = readMembers(in);
+        return new TypeDescriptor(name, superName, interfaceNames, annotations, fields, methods);
+    }
+
+    private void writeMembers(DataOutputStream out, List<TypeDescriptor.Member> members) throws IOException {
+        out.writeInt(members.size());
+        for (TypeDescriptor.Member member : members) {
+            out.writeUTF(member.getName());
+            out.writeUTF(member.getDescriptor());
+            writeNullable(out, member.getSignature());
+            writeAnnotations(out, member.getAnnotations());
+        }
+    }
+
+    private List<TypeDescriptor.Member> readMembers(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<TypeDescriptor.Member> members = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            members.add(new TypeDescriptor.Member(in.readUTF(), in.readUTF(), readNullable(in), readAnnotations(in)));
+        }
+        return members;
+    }
+
+    private void writeAnnotations(DataOutputStream out, Map<String, Map<String, List<String>>> annotations) throws IOException {
+        out.writeInt(annotations.size());
+        for (Map.Entry<String, Map<String, List<String>>> annotation : annotations.entrySet()) {
+            out.writeUTF(annotation.getKey());
+            out.writeInt(annotation.getValue().size());
+            for (Map.Entry<String, List<String>> element : annotation.getValue().entrySet()) {
+                out.writeUTF(element.getKey());
+                out.writeInt(element.getValue().size());
+                for (String value : element.getValue()) {
+                    out.writeUTF(value);
+                }
+            }
+        }
+    }
+
+    private Map<String, Map<String, List<String>>> readAnnotations(DataInputStream in) throws IOException {
+        int annotationCount = in.readInt();
+        Map<String, Map<String, List<String>>> annotations = new LinkedHashMap<>();
+        for (int i = 0; i < annotationCount; i++) {
+            String annotationName = in.readUTF();
+            int elementCount = in.readInt();
+            Map<String, List<String>> elements = new LinkedHashMap<>();
+            for (int j = 0; j < elementCount; j++) {
+                String elementName = in.readUTF();
+                int valueCount = in.readInt();
+                List<String> values = new ArrayList<>(valueCount);
+                for (int k = 0; k < valueCount; k++) {
+                    values.add(in.readUTF());
+                }
+                elements.put(elementName, values);
+            }
+            annotations.put(annotationName, elements);
+        }
+        return annotations;
+    }
+
+    private void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null)
+            out.writeUTF(value);
+    }
+
+    private String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static String hash(byte[] bytes) {
+        return toHex(createDigest().digest(bytes));
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM.", e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder sb = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Fingerprint of a classpath entry. The content hash of a jar file is only computed if its size and modification
+     * time are not sufficient to decide whether it changed.
+     */
+    private class Fingerprint {
+        private final Path entry;
+        private final String packagePath;
+        private final long size;
+        private final long lastModified;
+        private String contentHash;
+
+        Fingerprint(Path entry, String packagePath) {
+            this.entry = entry;
+            this.packagePath = packagePath;
+            if (Files.isDirectory(entry)) {
+                this.size = -1;
+                this.lastModified = -1;
+                this.contentHash = hashDirectory();
+            } else {
+                File file = entry.toFile();
+                this.size = file.length();
+                this.lastModified = file.lastModified();
+            }
+        }
+
+        boolean matches(long cachedSize, long cachedLastModified, String cachedContentHash) {
+            if (size != cachedSize)
+                return false;
+            if (contentHash == null && lastModified == cachedLastModified)
+                return true;
+            return getContentHash().equals(cachedContentHash);
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        long getLastModified() {
+            return lastModified;
+        }
+
+        String getContentHash() {
+            if (contentHash == null)
+                contentHash = hashFile();
+            return contentHash;
+        }
+
+        private String hashFile() {
+            MessageDigest digest = createDigest();
+            try (InputStream in = new BufferedInputStream(Files.newInputStream(entry))) {
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    digest.update(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not compute the fingerprint of '" + entry + "'.", e);
+            }
+            return toHex(digest.digest());
+        }
+
+        private String hashDirectory() {
+            Path packageDirectory = packagePath.isEmpty() ? entry : entry.resolve(packagePath);
+            if (!Files.isDirectory(packageDirectory))
+                return "";
+            MessageDigest digest = createDigest();
+            try (Stream<Path> files = Files.walk(packageDirectory)) {
+                for (Path file : files.filter(Files::isRegularFile).sorted().collect(Collectors.toList())) {
+                    File f = file.toFile();
+                    digest.update((packageDirectory.relativize(file) + "|" + f.length() + "|" + f.lastModified() + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not compute the fingerprint of '" + packageDirectory + "'.", e);
+            }
+            return toHex(digest.digest());
+        }
+    }
+
+}
@@ -0,0 +1,232 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Predicate;
+
+/**
+ * Finds files within a source tree. Directories matching one of the ignore globs (by default the usual VCS, build
+ * output and dependency directories) are not descended into. Optionally, the ignore rules of the '.gitignore' files
+ * found in the tree are honored as well. With a fork/join pool, the sub-directories are walked in parallel.
+ *
+ * @author Stefan Kapferer
+ */
+public class SourceFileFinder {
+
+    private static final List<String> DEFAULT_IGNORE_GLOBS = Arrays.asList(".git", ".svn", ".hg", ".gradle", ".idea",
+            "node_modules", "bower_components", "target", "build", "vendor");
+    private static final String GITIGNORE = ".gitignore";
+
+    private final Predicate<String> fileNameFilter;
+    private List<IgnoreRule> ignoreRules;
+    private boolean honorGitignore;
+    private ForkJoinPool forkJoinPool;
+
+    /**
+     * Creates a finder for the files whose names are accepted by the given filter.
+     *
+     * @param fileNameFilter the filter for the names of the files to be found
+     */
+    public SourceFileFinder(Predicate<String> fileNameFilter) {
+        this.fileNameFilter = fileNameFilter;
+        setIgnoreGlobs(DEFAULT_IGNORE_GLOBS);
+    }
+
+    /**
+     * Sets the globs of the files and directories to be skipped (replacing the default globs). Globs without '/' are
+     * matched against the file names, all others against the paths relative to the root of the source tree.
+     *
+     * @param ignoreGlobs the globs of the files and directories to be skipped
+     */
+    public void setIgnoreGlobs(Collection<String> ignoreGlobs) {
+        List<IgnoreRule> rules = new ArrayList<>();
+        for (String glob : ignoreGlobs) {
+            rules.add(new IgnoreRule(null, glob, false));
+        }
+        this.ignoreRules = rules;
+    }
+
+    /**
+     * Defines whether the '.gitignore' files within the source tree are honored (in addition to the ignore globs).
+     * Negated patterns ('!pattern') are not supported and simply not applied.
+     *
+     * @param honorGitignore true, if the '.gitignore' files shall be honored
+     */
+    public void setHonorGitignore(boolean honorGitignore) {
+        this.honorGitignore = honorGitignore;
+    }
+
+    /**
+     * Sets the pool on which the source tree is walked in parallel (null to walk it sequentially).
+     *
+     * @param forkJoinPool the pool on which the source tree is walked
+     */
+    public void setForkJoinPool(ForkJoinPool forkJoinPool) {
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Finds the matching files within the given source tree.
+     *
+     * @param root the root directory of the source tree
+     * @return the sorted list of the matching files (an empty list if the root directory does not exist)
+     */
+    public List<Path> find(Path root) {
+        if (!Files.isDirectory(root))
+            return Collections.emptyList();
+        WalkTask task = new WalkTask(root, root, ignoreRules);
+        List<Path> files = forkJoinPool != null ? forkJoinPool.invoke(task) : task.invoke();
+        Collections.sort(files);
+        return files;
+    }
+
+    private List<IgnoreRule> readGitignore(Path directory, List<IgnoreRule> inheritedRules) {
+        Path gitignore = directory.resolve(GITIGNORE);
+        if (!honorGitignore || !Files.isRegularFile(gitignore))
+            return inheritedRules;
+        List<IgnoreRule> rules = new ArrayList<>(inheritedRules);
+        try (BufferedReader reader = Files.newBufferedReader(gitignore)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String pattern = line.trim();
+                if (pattern.isEmpty() || pattern.startsWith("#") || pattern.startsWith("!"))
+                    continue;
+                boolean directoryOnly = pattern.endsWith("/");
+                if (directoryOnly)
+                    pattern = pattern.substring(0, pattern.length() - 1);
+                if (pattern.startsWith("/"))
+                    pattern = pattern.substring(1);
+                if (!pattern.isEmpty())
+                    rules.add(new IgnoreRule(directory, pattern, directoryOnly));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read '" + gitignore + "'.", e);
+        }
+        return rules;
+    }
+
+    private static boolean isIgnored(Path root, Path path, boolean directory, List<IgnoreRule> rules) {
+        for (IgnoreRule rule : rules) {
+            if (rule.matches(root, path, directory))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Walks one directory; in parallel mode, each sub-directory is walked by a forked task.
+     */
+    private class WalkTask extends RecursiveTask<List<Path>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Path root;
+        private final Path directory;
+        private final List<IgnoreRule> inheritedRules;
+
+        WalkTask(Path root, Path directory, List<IgnoreRule> inheritedRules) {
+            this.root = root;
+            this.directory = directory;
+            this.inheritedRules = inheritedRules;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            List<Path> files = new ArrayList<>();
+            List<WalkTask> subTasks = new ArrayList<>();
+            Deque<List<IgnoreRule>> rules = new ArrayDeque<>();
+            try {
+                Files.walkFileTree(directory, new SimpleFileVisitor<Path>() {
+                    @Override
+                    public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attributes) {
+                        if (!dir.equals(directory)) {
+                            if (isIgnored(root, dir, true, rules.peek()))
+                                return FileVisitResult.SKIP_SUBTREE;
+                            if (forkJoinPool != null) {
+                                subTasks.add(new WalkTask(root, dir, rules.peek()));
+                                return FileVisitResult.SKIP_SUBTREE;
+                            }
+                        }
+                        rules.push(readGitignore(dir, rules.isEmpty() ? inheritedRules : rules.peek()));
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                        if (attributes.isRegularFile() && fileNameFilter.test(file.getFileName().toString())
+                                && !isIgnored(root, file, false, rules.peek()))
+                            files.add(file);
+                        return FileVisitResult.CONTINUE;
+                    }
+
+                    @Override
+                    public FileVisitResult visitFileFailed(Path file, IOException e) {
+                        return FileVisitResult.CONTINUE; // unreadable files and directories are skipped
+                    }
+
+                    @Override
+                    public FileVisitResult postVisitDirectory(Path dir, IOException e) {
+                        rules.pop();
+                        return FileVisitResult.CONTINUE;
+                    }
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not walk the directory '" + directory + "'.", e);
+            }
+            for (WalkTask subTask : ForkJoinTask.invokeAll(subTasks)) {
+                files.addAll(subTask.join());
+            }
+            return files;
+        }
+    }
+
+    /**
+     * An ignore glob or '.gitignore' pattern. Patterns without '/' match file names at any depth below their base
+     * directory; all others match the path relative to the base directory (the root of the source tree for the
+     * ignore globs, the directory containing the '.gitignore' file for its patterns).
+     */
+    private static class IgnoreRule {
+        private final Path baseDirectory;
+        private final PathMatcher matcher;
+        private final boolean matchName;
+        private final boolean directoryOnly;
+
+        IgnoreRule(Path baseDirectory, String pattern, boolean directoryOnly) {
+            this.baseDirectory = baseDirectory;
+            this.matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+            this.matchName = !pattern.contains("/");
+            this.directoryOnly = directoryOnly;
+        }
+
+        boolean matches(Path root, Path path, boolean directory) {
+            if (directoryOnly && !directory)
+                return false;
+            if (matchName)
+                return matcher.matches(path.getFileName());
+            Path base = baseDirectory != null ? baseDirectory : root;
+            return path.startsWith(base) && matcher.matches(base.relativize(path));
+        }
+    }
+
+}
@@ -0,0 +1,356 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.*;
+
+/**
+ * Lightweight description of a type found on the classpath: its name, super types, annotations (including their
+ * String, enum and class values) and members. Type descriptors can be created from class files without loading the
+ * class (see {@link ClassFileReader}).
+ *
+ * @author Stefan Kapferer
+ */
+public class TypeDescriptor {
+
+    private final String name;
+    private final String superName;
+    private final List<String> interfaceNames;
+    private final Map<String, Map<String, List<String>>> annotations;
+    private final List<Member> fields;
+    private final List<Member> methods;
+
+    public TypeDescriptor(String name, String superName, List<String> interfaceNames, Map<String, Map<String, List<String>>> annotations,
+                          List<Member> fields, List<Member> methods) {
+        this.name = name;
+        this.superName = superName;
+        this.interfaceNames = interfaceNames;
+        this.annotations = annotations;
+        this.fields = fields;
+        this.methods = methods;
+    }
+
+    /**
+     * Creates a type descriptor for an already loaded class.
+     *
+     * @param type the class to be described
+     * @return the descriptor of the given class
+     */
+    public static TypeDescriptor of(Class<?> type) {
+        List<String> interfaceNames = new ArrayList<>();
+        for (Class<?> interfaceType : type.getInterfaces()) {
+            interfaceNames.add(interfaceType.getName());
+        }
+        List<Member> fields = new ArrayList<>();
+        for (Field field : type.getDeclaredFields()) {
+            fields.add(new Member(field.getName(), descriptorOf(field.getType()), null, describeAnnotations(field.getDeclaredAnnotations())));
+        }
+        List<Member> methods = new ArrayList<>();
+        for (Method method : type.getDeclaredMethods()) {
+            methods.add(new Member(method.getName(), descriptorOf(method), null, describeAnnotations(method.getDeclaredAnnotations())));
+        }
+        return new TypeDescriptor(type.getName(), type.getSuperclass() != null ? type.getSuperclass().getName() : null,
+                interfaceNames, describeAnnotations(type.getDeclaredAnnotations()), fields, methods);
+    }
+
+    /**
+     * Gets the fully qualified (binary) name of the type.
+     *
+     * @return the name of the type
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the simple name of the type (the name without package and enclosing types).
+     *
+     * @return the simple name of the type
+     */
+    public String getSimpleName() {
+        String simpleName = name.substring(name.lastIndexOf('.') + 1);
+        return simpleName.substring(simpleName.lastIndexOf('$') + 1);
+    }
+
+    /**
+     * Gets the name of the package containing the type.
+     *
+     * @return the package name of the type
+     */
+    public String getPackageName() {
+        int index = name.lastIndexOf('.');
+        return index < 0 ? "" : name.substring(0, index);
+    }
+
+    /**
+     * Gets the name of the super class.
+     *
+     * @return the name of the super class, or null if the type has no super class
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    /**
+     * Gets the names of the interfaces the type directly implements.
+     *
+     * @return the list of interface names
+     */
+    public List<String> getInterfaceNames() {
+        return Collections.unmodifiableList(interfaceNames);
+    }
+
+    /**
+     * Gets the names of the annotations declared on the type.
+     *
+     * @return the set of annotation names
+     */
+    public Set<String> getAnnotationNames() {
+        return Collections.unmodifiableSet(annotations.keySet());
+    }
+
+    /**
+     * Checks whether the type is directly annotated with the given annotation.
+     *
+     * @param annotationName the fully qualified name of the annotation
+     * @return true, if the type is annotated with the given annotation. false otherwise.
+     */
+    public boolean hasAnnotation(String annotationName) {
+        return annotations.containsKey(annotationName);
+    }
+
+    /**
+     * Gets the values of an annotation element (String, enum constant or class values).
+     *
+     * @param annotationName the fully qualified name of the annotation
+     * @param elementName    the name of the annotation element
+     * @return the list of values, or an empty list if the type has no such annotation or element value
+     */
+    public List<String> getAnnotationValues(String annotationName, String elementName) {
+        return getAnnotationValues(annotations, annotationName, elementName);
+    }
+
+    /**
+     * Gets the fields declared by the type.
+     *
+     * @return the list of declared fields
+     */
+    public List<Member> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    /**
+     * Gets the methods declared by the type.
+     *
+     * @return the list of declared methods
+     */
+    public List<Member> getMethods() {
+        return Collections.unmodifiableList(methods);
+    }
+
+    Map<String, Map<String, List<String>>> getAnnotations() {
+        return annotations;
+    }
+
+    /**
+     * Checks whether the type is part of the given package or one of its sub-packages.
+     *
+     * @param packageName the package name
+     * @return true, if the type is located within the given package. false otherwise.
+     */
+    public boolean isInPackage(String packageName) {
+        return packageName.isEmpty() || name.startsWith(packageName + ".");
+    }
+
+    @Override
+    public boolean equals(Object object) {
+        if (!(object instanceof TypeDescriptor))
+            return false;
+        return name.equals(((TypeDescriptor) object).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Computes the JVM descriptor of a method, such as {@code (Ljava/lang/String;I)V}.
+     *
+     * @param method the method
+     * @return the JVM descriptor of the method
+     */
+    public static String descriptorOf(Method method) {
+        StringBuilder sb = new StringBuilder("(");
+        for (Class<?> parameterType : method.getParameterTypes()) {
+            sb.append(descriptorOf(parameterType));
+        }
+        return sb.append(')').append(descriptorOf(method.getReturnType())).toString();
+    }
+
+    private static String descriptorOf(Class<?> type) {
+        if (type.isArray())
+            return type.getName().replace('.', '/');
+        if (type == void.class)
+            return "V";
+        if (type == boolean.class)
+            return "Z";
+        if (type == byte.class)
+            return "B";
+        if (type == char.class)
+            return "C";
+        if (type == short.class)
+            return "S";
+        if (type == int.class)
+            return "I";
+        if (type == long.class)
+            return "J";
+        if (type == float.class)
+            return "F";
+        if (type == double.class)
+            return "D";
+        return "L" + type.getName().replace('.', '/') + ";";
+    }
+
+    private static Map<String, Map<String, List<String>>> describeAnnotations(Annotation[] annotations) {
+        Map<String, Map<String, List<String>>> result = new LinkedHashMap<>();
+        for (Annotation annotation : annotations) {
+            Map<String, List<String>> elements = new LinkedHashMap<>();
+            for (Method element : annotation.annotationType().getDeclaredMethods()) {
+                if (element.getParameterCount() > 0)
+                    continue;
+                try {
+                    List<String> values = describeAnnotationValue(element.invoke(annotation));
+                    if (!values.isEmpty() || element.getReturnType().isArray())
+                        elements.put(element.getName(), values);
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    // element value not accessible; the descriptor simply does not contain it
+                }
+            }
+            result.put(annotation.annotationType().getName(), elements);
+        }
+        return result;
+    }
+
+    private static List<String> describeAnnotationValue(Object value) {
+        List<String> values = new ArrayList<>();
+        if (value == null)
+            return values;
+        if (value.getClass().isArray()) {
+            for (int i = 0; i < Array.getLength(value); i++) {
+                values.addAll(describeAnnotationValue(Array.get(value, i)));
+            }
+        } else if (value instanceof String) {
+            values.add((String) value);
+        } else if (value instanceof Enum<?>) {
+            values.add(((Enum<?>) value).name());
+        } else if (value instanceof Class<?>) {
+            values.add(descriptorOf((Class<?>) value));
+        }
+        return values;
+    }
+
+    private static List<String> getAnnotationValues(Map<String, Map<String, List<String>>> annotations, String annotationName, String elementName) {
+        Map<String, List<String>> elements = annotations.get(annotationName);
+        if (elements == null || !elements.containsKey(elementName))
+            return Collections.emptyList();
+        return Collections.unmodifiableList(elements.get(elementName));
+    }
+
+    /**
+     * Lightweight description of a field or method of a type.
+     */
+    public static class Member {
+
+        private final String name;
+        private final String descriptor;
+        private final String signature;
+        private final Map<String, Map<String, List<String>>> annotations;
+
+        public Member(String name, String descriptor, String signature, Map<String, Map<String, List<String>>> annotations) {
+            this.name = name;
+            this.descriptor = descriptor;
+            this.signature = signature;
+            this.annotations = annotations;
+        }
+
+        /**
+         * Gets the name of the member.
+         *
+         * @return the name of the field or method
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Gets the JVM descriptor of the member, such as {@code Ljava/util/List;} or {@code (I)V}.
+         *
+         * @return the JVM descriptor
+         */
+        public String getDescriptor() {
+            return descriptor;
+        }
+
+        /**
+         * Gets the generic signature of the member, such as {@code Ljava/util/List<Lcom/example/Dto;>;}.
+         *
+         * @return the generic signature, or null if the member is not generic (or the signature is not known)
+         */
+        public String getSignature() {
+            return signature;
+        }
+
+        /**
+         * Gets the names of the annotations declared on the member.
+         *
+         * @return the set of annotation names
+         */
+        public Set<String> getAnnotationNames() {
+            return Collections.unmodifiableSet(annotations.keySet());
+        }
+
+        /**
+         * Gets the values of an annotation element (String, enum constant or class values).
+         *
+         * @param annotationName the fully qualified name of the annotation
+         * @param elementName    the name of the annotation element
+         * @return the list of values, or an empty list if the member has no such annotation or element value
+         */
+        public List<String> getAnnotationValues(String annotationName, String elementName) {
+            return TypeDescriptor.getAnnotationValues(annotations, annotationName, elementName);
+        }
+
+        Map<String, Map<String, List<String>>> getAnnotations() {
+            return annotations;
+        }
+
+        @Override
+        public String toString() {
+            return name + descriptor;
+        }
+    }
+
+}
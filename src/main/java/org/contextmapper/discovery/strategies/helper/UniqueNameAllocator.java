@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Allocates unique names. If a name is already taken, a numeric suffix is appended ('Name_1', 'Name_2', ...); a
+ * counter per base name ensures that the next free suffix is found without trying all the taken ones again.
+ *
+ * @author Stefan Kapferer
+ */
+public class UniqueNameAllocator {
+
+    private final Set<String> allocatedNames = new HashSet<>();
+    private final Map<String, Integer> nextSuffixes = new HashMap<>();
+
+    /**
+     * Allocates the given name or, if it is already taken, the name with the next free numeric suffix.
+     *
+     * @param name the preferred name
+     * @return the allocated (unique) name
+     */
+    public String allocate(String name) {
+        if (allocatedNames.add(name))
+            return name;
+        int suffix = nextSuffixes.getOrDefault(name, 1);
+        String uniqueName = name + "_" + suffix;
+        while (!allocatedNames.add(uniqueName)) {
+            suffix++;
+            uniqueName = name + "_" + suffix;
+        }
+        nextSuffixes.put(name, suffix + 1);
+        return uniqueName;
+    }
+
+    /**
+     * Allocates the given name or, if it is already taken, the name qualified with the given prefix ('Prefix_Name');
+     * if this is taken as well, the qualified name with the next free numeric suffix is allocated.
+     *
+     * @param name   the preferred name
+     * @param prefix the prefix used to qualify the name, if the name is already taken
+     * @return the allocated (unique) name
+     */
+    public String allocate(String name, String prefix) {
+        if (allocatedNames.add(name))
+            return name;
+        return allocate(prefix + "_" + name);
+    }
+
+    /**
+     * Checks whether a name has already been allocated.
+     *
+     * @param name the name to be checked
+     * @return true, if the name has already been allocated. false otherwise.
+     */
+    public boolean isAllocated(String name) {
+        return allocatedNames.contains(name);
+    }
+
+}
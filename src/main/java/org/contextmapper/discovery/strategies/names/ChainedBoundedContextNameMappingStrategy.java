@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.names;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Chains multiple name mapping strategies: the name is mapped by the first strategy, its result by the second one,
+ * and so on. The results are memoized per input name, since relationship discovery strategies usually look up the
+ * same names many times.
+ * <p>
+ * For example, a chain of {@link SeparatorToCamelCaseBoundedContextNameMappingStrategy} ('-') and
+ * {@link SuffixRemovingBoundedContextNameMappingStrategy} ('Backend') maps 'customer-core-backend' to 'CustomerCore'.
+ *
+ * @author Stefan Kapferer
+ */
+public class ChainedBoundedContextNameMappingStrategy implements BoundedContextNameMappingStrategy {
+
+    private List<BoundedContextNameMappingStrategy> strategies;
+    private Map<String, String> mappedNames = new ConcurrentHashMap<>();
+
+    public ChainedBoundedContextNameMappingStrategy(BoundedContextNameMappingStrategy... strategies) {
+        this.strategies = Arrays.asList(strategies);
+    }
+
+    @Override
+    public String mapBoundedContextName(String name) {
+        return mappedNames.computeIfAbsent(name, this::applyStrategies);
+    }
+
+    private String applyStrategies(String name) {
+        String mappedName = name;
+        for (BoundedContextNameMappingStrategy strategy : strategies) {
+            mappedName = strategy.mapBoundedContextName(mappedName);
+        }
+        return mappedName;
+    }
+
+}
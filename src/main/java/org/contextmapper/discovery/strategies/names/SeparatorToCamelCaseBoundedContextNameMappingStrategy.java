@@ -15,6 +15,8 @@
  */
 package org.contextmapper.discovery.strategies.names;
 
+import java.util.regex.Pattern;
+
 /**
  * Maps Bounded Context name using a separator to Camel-Case notation.
  * <p>
@@ -27,19 +29,38 @@ package org.contextmapper.discovery.strategies.names;
  */
 public class SeparatorToCamelCaseBoundedContextNameMappingStrategy implements BoundedContextNameMappingStrategy {
 
-    private String separator;
+    private Pattern separatorPattern;
 
+    /**
+     * Creates the strategy for a separator given as regular expression (for example "-" or "[-_]").
+     *
+     * @param separator the regular expression matching the separator
+     */
     public SeparatorToCamelCaseBoundedContextNameMappingStrategy(String separator) {
-        this.separator = separator;
+        this(Pattern.compile(separator));
+    }
+
+    private SeparatorToCamelCaseBoundedContextNameMappingStrategy(Pattern separatorPattern) {
+        this.separatorPattern = separatorPattern;
+    }
+
+    /**
+     * Creates the strategy for a separator which is taken literally (for example ".").
+     *
+     * @param separator the separator
+     * @return the strategy splitting names at the given separator
+     */
+    public static SeparatorToCamelCaseBoundedContextNameMappingStrategy literal(String separator) {
+        return new SeparatorToCamelCaseBoundedContextNameMappingStrategy(Pattern.quote(separator));
     }
 
     @Override
     public String mapBoundedContextName(String name) {
-        String[] parts = name.split(separator);
-        StringBuilder sb = new StringBuilder();
+        String[] parts = separatorPattern.split(name);
+        StringBuilder sb = new StringBuilder(name.length());
         for (String part : parts) {
             if (!"".equals(part))
-                sb.append(part.substring(0, 1).toUpperCase()).append(part.substring(1, part.length()));
+                sb.append(Character.toUpperCase(part.charAt(0))).append(part, 1, part.length());
         }
         return sb.toString();
     }
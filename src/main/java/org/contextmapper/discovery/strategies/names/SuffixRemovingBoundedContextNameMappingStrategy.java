@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.names;
+
+/**
+ * Removes a suffix from Bounded Context names.
+ * <p>
+ * For example, with the suffix 'Backend': 'CustomerCoreBackend' is mapped to 'CustomerCore'. If multiple suffixes are
+ * configured, only the first matching one is removed. Names consisting of the suffix only are not changed.
+ *
+ * @author Stefan Kapferer
+ */
+public class SuffixRemovingBoundedContextNameMappingStrategy implements BoundedContextNameMappingStrategy {
+
+    private String[] suffixes;
+
+    public SuffixRemovingBoundedContextNameMappingStrategy(String... suffixes) {
+        this.suffixes = suffixes;
+    }
+
+    @Override
+    public String mapBoundedContextName(String name) {
+        for (String suffix : suffixes) {
+            if (name.length() > suffix.length() && name.endsWith(suffix))
+                return name.substring(0, name.length() - suffix.length());
+        }
+        return name;
+    }
+
+}
@@ -15,38 +15,123 @@
  */
 package org.contextmapper.discovery.strategies.relationships;
 
-import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.filefilter.NameFileFilter;
-import org.apache.commons.io.filefilter.TrueFileFilter;
 import org.contextmapper.discovery.model.BoundedContext;
 import org.contextmapper.discovery.model.Relationship;
-import org.yaml.snakeyaml.Yaml;
+import org.contextmapper.discovery.strategies.helper.ComposeFileReader;
+import org.contextmapper.discovery.strategies.helper.SourceFileFinder;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 public class DockerComposeRelationshipDiscoveryStrategy extends AbstractRelationshipDiscoveryStrategy implements RelationshipDiscoveryStrategy {
 
+    // docker-compose.yml, compose.yaml and variants such as docker-compose.override.yml or compose.prod.yaml
+    private static final Pattern COMPOSE_FILE_NAME = Pattern.compile("(docker-)?compose(\\..+)?\\.ya?ml");
+
     private File sourcePath;
+    private SourceFileFinder composeFileFinder;
+    private ExecutorService parsingExecutor;
 
     public DockerComposeRelationshipDiscoveryStrategy(File sourcePath) {
         this.sourcePath = sourcePath;
+        this.composeFileFinder = new SourceFileFinder(name -> COMPOSE_FILE_NAME.matcher(name).matches());
+    }
+
+    /**
+     * Sets the globs of the files and directories which are not searched for compose files. By default, the usual
+     * VCS, build output and dependency directories (such as '.git', 'target', 'build' and 'node_modules') are skipped.
+     *
+     * @param ignoreGlobs the globs of the files and directories to be skipped (replacing the default globs)
+     */
+    public DockerComposeRelationshipDiscoveryStrategy usingIgnoreGlobs(String... ignoreGlobs) {
+        this.composeFileFinder.setIgnoreGlobs(Arrays.asList(ignoreGlobs));
+        return this;
+    }
+
+    /**
+     * Skips the files and directories ignored by the '.gitignore' files within the source tree as well.
+     */
+    public DockerComposeRelationshipDiscoveryStrategy honoringGitignore() {
+        this.composeFileFinder.setHonorGitignore(true);
+        return this;
+    }
+
+    /**
+     * Enables the parallel search for compose files: the sub-directories of the source tree are walked on the given
+     * pool.
+     *
+     * @param searchPool the pool on which the source tree is walked
+     */
+    public DockerComposeRelationshipDiscoveryStrategy usingParallelSearch(ForkJoinPool searchPool) {
+        this.composeFileFinder.setForkJoinPool(searchPool);
+        return this;
+    }
+
+    /**
+     * Enables the parallel parsing of the compose files on the given executor.
+     *
+     * @param executor the executor on which the compose files are parsed
+     */
+    public DockerComposeRelationshipDiscoveryStrategy usingParallelParsing(ExecutorService executor) {
+        this.parsingExecutor = executor;
+        return this;
     }
 
     @Override
     public Set<Relationship> discoverRelationships() {
         Set<Relationship> relationships = new HashSet<>();
-        for (File dockerComposeFile : findDockerComposeFiles()) {
-            relationships.addAll(discoverRelationships(dockerComposeFile));
+        for (List<ServiceDependency> dependencies : parseDockerComposeFiles(findDockerComposeFiles())) {
+            relationships.addAll(discoverRelationships(dependencies));
         }
         return relationships;
     }
 
-    private Set<Relationship> discoverRelationships(File dockerComposeFile) {
+    private List<List<ServiceDependency>> parseDockerComposeFiles(Collection<File> dockerComposeFiles) {
+        List<List<ServiceDependency>> dependencies = new ArrayList<>();
+        if (parsingExecutor == null) {
+            for (File dockerComposeFile : dockerComposeFiles) {
+                dependencies.add(parseDependencies(dockerComposeFile));
+            }
+            return dependencies;
+        }
+        List<Future<List<ServiceDependency>>> parsings = new ArrayList<>();
+        for (File dockerComposeFile : dockerComposeFiles) {
+            parsings.add(parsingExecutor.submit(() -> parseDependencies(dockerComposeFile)));
+        }
+        for (Future<List<ServiceDependency>> parsing : parsings) {
+            dependencies.add(await(parsing));
+        }
+        return dependencies;
+    }
+
+    private <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while parsing the compose files.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            if (e.getCause() instanceof Error)
+                throw (Error) e.getCause();
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private Set<Relationship> discoverRelationships(List<ServiceDependency> dependencies) {
         Set<Relationship> relationships = new HashSet<>();
-        for (ServiceDependency dependency : parseDependencies(dockerComposeFile)) {
+        for (ServiceDependency dependency : dependencies) {
             BoundedContext upstreamContext = discoverer.lookupBoundedContext(dependency.dependsOn);
             BoundedContext downstreamContext = discoverer.lookupBoundedContext(dependency.service);
             if (upstreamContext != null && downstreamContext != null) {
@@ -64,24 +149,18 @@ public class DockerComposeRelationshipDiscoveryStrategy extends AbstractRelation
     protected List<ServiceDependency> parseDependencies(File dockerComposeFile) {
         List<ServiceDependency> result = new ArrayList<>();
         try {
-            Yaml yaml = new Yaml();
-            Map<String, Object> composeObjectMap = yaml.load(new FileInputStream(dockerComposeFile));
-            if (!composeObjectMap.containsKey("services"))
-                return result;
-            Map<String, Object> services = (Map<String, Object>) composeObjectMap.get("services");
-            if (services == null)
-                return result;
-            for (String service : services.keySet()) {
-                if (((Map<String, Object>) services.get(service)).containsKey("depends_on"))
-                    result.addAll(createServiceDependencies4Service(service, (List<String>) ((Map<String, Object>) services.get(service)).get("depends_on")));
+            for (ComposeFileReader.ComposeService service : new ComposeFileReader().read(dockerComposeFile.toPath())) {
+                result.addAll(createServiceDependencies4Service(service.getName(), service.getDependencies()));
             }
         } catch (FileNotFoundException e) {
             throw new IllegalArgumentException("The file '" + dockerComposeFile.toString() + "' does not exist!", e);
+        } catch (IOException e) {
+            throw new UncheckedIOException("The file '" + dockerComposeFile.toString() + "' cannot be read!", e);
         }
         return result;
     }
 
-    private List<ServiceDependency> createServiceDependencies4Service(String service, List<String> dependencies) {
+    private List<ServiceDependency> createServiceDependencies4Service(String service, Collection<String> dependencies) {
         List<ServiceDependency> resultList = new ArrayList<>();
         for (String dependency : dependencies) {
             resultList.add(new ServiceDependency(service, dependency));
@@ -90,7 +169,7 @@ public class DockerComposeRelationshipDiscoveryStrategy extends AbstractRelation
     }
 
     private Collection<File> findDockerComposeFiles() {
-        return FileUtils.listFiles(sourcePath, new NameFileFilter("docker-compose.yml"), TrueFileFilter.INSTANCE);
+        return composeFileFinder.find(sourcePath.toPath()).stream().map(Path::toFile).collect(Collectors.toList());
     }
 
     protected class ServiceDependency {
@@ -20,10 +20,16 @@ import org.contextmapper.discovery.model.ContextMap;
 import org.contextmapper.discovery.model.Relationship;
 import org.contextmapper.discovery.strategies.boundedcontexts.AbstractBoundedContextDiscoveryStrategy;
 import org.contextmapper.discovery.strategies.boundedcontexts.BoundedContextDiscoveryStrategy;
+import org.contextmapper.discovery.strategies.helper.ClasspathIndex;
+import org.contextmapper.discovery.strategies.helper.ClasspathScanner;
+import org.contextmapper.discovery.strategies.helper.TypeDescriptor;
+import org.contextmapper.discovery.strategies.names.SeparatorToCamelCaseBoundedContextNameMappingStrategy;
 import org.contextmapper.discovery.strategies.relationships.AbstractRelationshipDiscoveryStrategy;
 import org.contextmapper.discovery.strategies.relationships.RelationshipDiscoveryStrategy;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -99,6 +105,129 @@ public class ContextMapDiscovererTest {
         assertNull(discoverer.lookupBoundedContext("NotExistingContext"));
     }
 
+    @Test
+    public void nameLookupFindsBoundedContextAddedLater() {
+        // given
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(
+                        new DummyDiscoveryStrategy()
+                );
+        ContextMap contextMap = discoverer.discoverContextMap();
+        assertNull(discoverer.lookupBoundedContext("LateContext"));
+
+        // when
+        contextMap.addBoundedContext(new BoundedContext("LateContext"));
+
+        // then
+        assertNotNull(discoverer.lookupBoundedContext("LateContext"));
+        assertSame(discoverer.lookupBoundedContext("DummyUpstreamContext"), discoverer.lookupBoundedContext("DummyUpstreamContext"));
+    }
+
+    @Test
+    public void nameLookupUsesNameMappingStrategiesAddedLater() {
+        // given
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(
+                        new DummyDiscoveryStrategy()
+                );
+        discoverer.discoverContextMap();
+        assertNull(discoverer.lookupBoundedContext("dummy-upstream-context"));
+
+        // when
+        discoverer.usingBoundedContextNameMappingStrategies(new SeparatorToCamelCaseBoundedContextNameMappingStrategy("-"));
+
+        // then
+        assertEquals("DummyUpstreamContext", discoverer.lookupBoundedContext("dummy-upstream-context").getName());
+    }
+
+    @Test
+    public void passesOwnClasspathIndexWithoutStoringItInStrategy() {
+        // given
+        IndexRecordingDiscoveryStrategy strategy = new IndexRecordingDiscoveryStrategy();
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(strategy);
+
+        // when
+        discoverer.discoverContextMap();
+
+        // then
+        assertNotNull(strategy.sharedClasspathIndex);
+        assertFalse(strategy.hasClasspathIndex());
+    }
+
+    @Test
+    public void doesNotCloseRegisteredClasspathIndex() {
+        // given
+        CloseRecordingScanner scanner = new CloseRecordingScanner();
+        ClasspathIndex classpathIndex = new ClasspathIndex(scanner);
+        IndexRecordingDiscoveryStrategy strategy = new IndexRecordingDiscoveryStrategy();
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingClasspathIndex(classpathIndex)
+                .usingBoundedContextDiscoveryStrategies(strategy);
+
+        // when
+        discoverer.discoverContextMap();
+
+        // then
+        assertSame(classpathIndex, strategy.sharedClasspathIndex);
+        assertFalse(scanner.closed);
+    }
+
+    @Test
+    public void passesClasspathIndexPerDiscoverer() {
+        // given
+        ClasspathIndex firstIndex = new ClasspathIndex(new CloseRecordingScanner());
+        ClasspathIndex secondIndex = new ClasspathIndex(new CloseRecordingScanner());
+        IndexRecordingDiscoveryStrategy strategy = new IndexRecordingDiscoveryStrategy();
+        new ContextMapDiscoverer()
+                .usingClasspathIndex(firstIndex)
+                .usingBoundedContextDiscoveryStrategies(strategy)
+                .discoverContextMap();
+
+        // when
+        new ContextMapDiscoverer()
+                .usingClasspathIndex(secondIndex)
+                .usingBoundedContextDiscoveryStrategies(strategy)
+                .discoverContextMap();
+
+        // then
+        assertSame(secondIndex, strategy.sharedClasspathIndex);
+    }
+
+    private class IndexRecordingDiscoveryStrategy extends AbstractBoundedContextDiscoveryStrategy implements BoundedContextDiscoveryStrategy {
+        private ClasspathIndex sharedClasspathIndex;
+
+        @Override
+        public Set<BoundedContext> discoverBoundedContexts() {
+            return discoverBoundedContextsWith(null);
+        }
+
+        @Override
+        public Set<BoundedContext> discoverBoundedContextsWith(ClasspathIndex sharedClasspathIndex) {
+            this.sharedClasspathIndex = sharedClasspathIndex;
+            return new HashSet<>();
+        }
+    }
+
+    private class CloseRecordingScanner implements ClasspathScanner {
+        private boolean closed;
+
+        @Override
+        public Collection<TypeDescriptor> scan(String packageName) {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return getClass().getClassLoader();
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
     private class DummyDiscoveryStrategy extends AbstractBoundedContextDiscoveryStrategy implements BoundedContextDiscoveryStrategy {
         @Override
         public Set<BoundedContext> discoverBoundedContexts() {
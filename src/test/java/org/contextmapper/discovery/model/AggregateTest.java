@@ -64,6 +64,33 @@ public class AggregateTest {
         assertEquals(new DomainObject(DomainObjectType.ENTITY, "Entity", "test.Entity"), aggregate.getDomainObjects().iterator().next());
     }
 
+    @Test
+    public void canSetRootEntity() {
+        // given
+        Aggregate aggregate = new Aggregate("TestAggregate");
+        DomainObject rootEntity = new DomainObject(DomainObjectType.ENTITY, "TestAggregate_RootEntity");
+
+        // when
+        aggregate.setRootEntity(rootEntity);
+
+        // then
+        assertSame(rootEntity, aggregate.getRootEntity());
+        assertEquals(1, aggregate.getDomainObjects().size());
+        assertSame(aggregate, rootEntity.getParent());
+    }
+
+    @Test
+    public void hasNoRootEntityByDefault() {
+        // given
+        Aggregate aggregate = new Aggregate("TestAggregate");
+
+        // when
+        aggregate.addDomainObject(new DomainObject(DomainObjectType.ENTITY, "Entity", "test.Entity"));
+
+        // then
+        assertNull(aggregate.getRootEntity());
+    }
+
     @Test
     public void canAddServices() {
         // given
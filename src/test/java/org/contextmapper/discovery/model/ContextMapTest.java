@@ -18,7 +18,9 @@ package org.contextmapper.discovery.model;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 public class ContextMapTest {
 
@@ -36,6 +38,38 @@ public class ContextMapTest {
         assertEquals("TestContext", contextMap.getBoundedContexts().iterator().next().getName());
     }
 
+    @Test
+    public void canGetBoundedContextByName() {
+        // given
+        ContextMap contextMap = new ContextMap();
+        BoundedContext context = new BoundedContext("TestContext");
+        contextMap.addAllBoundedContexts(Set.of(context, new BoundedContext("OtherContext")));
+
+        // when
+        BoundedContext result = contextMap.getBoundedContext("TestContext");
+
+        // then
+        assertSame(context, result);
+        assertNull(contextMap.getBoundedContext("NotExistingContext"));
+        assertEquals(2, contextMap.getBoundedContextCount());
+    }
+
+    @Test
+    public void keepsFirstBoundedContextWithSameName() {
+        // given
+        ContextMap contextMap = new ContextMap();
+        BoundedContext context = new BoundedContext("TestContext");
+        contextMap.addBoundedContext(context);
+
+        // when
+        contextMap.addBoundedContext(new BoundedContext("TestContext"));
+
+        // then
+        assertSame(context, contextMap.getBoundedContext("TestContext"));
+        assertSame(context, contextMap.getBoundedContexts().iterator().next());
+        assertEquals(1, contextMap.getBoundedContextCount());
+    }
+
     @Test
     public void canAddRelationship() {
         // given
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.boundedcontexts;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Measures the discovery of a generated specification with deeply nested and recursive schemas (run with
+ * 'gradle benchmark').
+ */
+@Tag("benchmark")
+public class OASBoundedContextDiscoveryStrategyBenchmark {
+
+    private static final int DEPTH = 200;
+    private static final int PATHS = 50;
+    private static final int RUNS = 5;
+
+    @Test
+    public void discoverDeeplyNestedSchemas() throws IOException {
+        File spec = File.createTempFile("nested-schemas", ".yml");
+        spec.deleteOnExit();
+        Files.writeString(spec.toPath(), generateSpecification());
+
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy(spec.getAbsolutePath());
+        strategy.discoverBoundedContexts(); // warm-up
+        System.out.println(String.format("discovered %d paths referencing a chain of %d recursive schemas", PATHS, DEPTH));
+        System.out.println(String.format("discovery: %6d ms", measure(strategy)));
+    }
+
+    @Test
+    public void discoverFromCache(@TempDir Path tempDir) throws IOException {
+        File spec = tempDir.resolve("nested-schemas.yml").toFile();
+        Files.writeString(spec.toPath(), generateSpecification());
+
+        long uncachedTime = measure(new OASBoundedContextDiscoveryStrategy(spec.getAbsolutePath()));
+        OASBoundedContextDiscoveryStrategy cachedStrategy = new OASBoundedContextDiscoveryStrategy(spec.getAbsolutePath())
+                .usingCacheDirectory(tempDir.resolve("cache").toFile());
+        cachedStrategy.discoverBoundedContexts(); // fills the cache
+        long cachedTime = measure(cachedStrategy);
+        System.out.println(String.format("uncached: %6d ms", uncachedTime));
+        System.out.println(String.format("cached:   %6d ms (speedup %.2f)", cachedTime, (double) uncachedTime / Math.max(1, cachedTime)));
+    }
+
+    private long measure(OASBoundedContextDiscoveryStrategy strategy) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            strategy.discoverBoundedContexts();
+            best = Math.min(best, (System.nanoTime() - start) / 1000000);
+        }
+        return best;
+    }
+
+    private String generateSpecification() {
+        StringBuilder sb = new StringBuilder("openapi: 3.0.1\ninfo:\n  title: NestedAPI\n  version: \"1.0\"\npaths:\n");
+        for (int i = 0; i < PATHS; i++) {
+            sb.append("  /resources/r").append(i).append(":\n")
+                    .append("    get:\n")
+                    .append("      operationId: getResource").append(i).append("\n")
+                    .append("      responses:\n")
+                    .append("        \"200\":\n")
+                    .append("          description: resource\n")
+                    .append("          content:\n")
+                    .append("            application/json:\n")
+                    .append("              schema:\n")
+                    .append("                $ref: '#/components/schemas/Level").append(i % DEPTH).append("'\n");
+        }
+        sb.append("components:\n  schemas:\n");
+        for (int i = 0; i < DEPTH; i++) {
+            sb.append("    Level").append(i).append(":\n")
+                    .append("      type: object\n")
+                    .append("      properties:\n")
+                    .append("        name:\n")
+                    .append("          type: string\n")
+                    .append("        root:\n")
+                    .append("          $ref: '#/components/schemas/Level0'\n")
+                    .append("        self:\n")
+                    .append("          $ref: '#/components/schemas/Level").append(i).append("'\n");
+            if (i + 1 < DEPTH)
+                sb.append("        children:\n")
+                        .append("          type: array\n")
+                        .append("          items:\n")
+                        .append("            $ref: '#/components/schemas/Level").append(i + 1).append("'\n");
+        }
+        return sb.toString();
+    }
+
+}
@@ -21,12 +21,16 @@ import org.apache.log4j.spi.LoggingEvent;
 import org.contextmapper.discovery.ContextMapDiscoverer;
 import org.contextmapper.discovery.model.*;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -252,6 +256,263 @@ public class OASBoundedContextDiscoveryStrategyTest {
         assertFalse(testAppender.events.isEmpty());
     }
 
+    @Test
+    public void canDiscoverAggregatesWithCollidingNames() {
+        // given
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(new OASBoundedContextDiscoveryStrategy("./src/test/resources/test/oas-tests/colliding-aggregate-names.yml"));
+
+        // when
+        ContextMap contextMap = discoverer.discoverContextMap();
+
+        // then
+        BoundedContext bc = contextMap.getBoundedContexts().iterator().next();
+        assertEquals(2, bc.getAggregates().size());
+        Set<String> aggregateNames = bc.getAggregates().stream().map(Aggregate::getName).collect(Collectors.toSet());
+        assertTrue(aggregateNames.contains("customers_addresses"));
+        assertTrue(aggregateNames.contains("customers_addresses_1"));
+    }
+
+    @Test
+    public void canDiscoverRecursiveSchemas() {
+        // given
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy("./src/test/resources/test/oas-tests/recursive-schemas.yml");
+
+        // when
+        Set<BoundedContext> boundedContexts = strategy.discoverBoundedContexts();
+
+        // then
+        BoundedContext bc = boundedContexts.iterator().next();
+        DomainObject node = findDomainObject(bc, "Node");
+        assertSame(node, findAttribute(node, "parent").getType().getDomainObjectType());
+        Attribute children = findAttribute(node, "children");
+        assertSame(node, children.getType().getDomainObjectType());
+        assertEquals("List", children.getType().getCollectionType());
+    }
+
+    @Test
+    public void canDiscoverMutuallyRecursiveSchemas() {
+        // given
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy("./src/test/resources/test/oas-tests/recursive-schemas.yml");
+
+        // when
+        Set<BoundedContext> boundedContexts = strategy.discoverBoundedContexts();
+
+        // then
+        BoundedContext bc = boundedContexts.iterator().next();
+        DomainObject customer = findDomainObject(bc, "Customer");
+        DomainObject address = findAttribute(customer, "address").getType().getDomainObjectType();
+        assertEquals("AddressType", address.getName());
+        assertSame(customer, findAttribute(address, "resident").getType().getDomainObjectType());
+    }
+
+    @Test
+    public void canRunDiscoveryRepeatedly() {
+        // given
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy("./src/test/resources/test/oas-tests/colliding-aggregate-names.yml");
+
+        // when
+        strategy.discoverBoundedContexts();
+        Set<BoundedContext> boundedContexts = strategy.discoverBoundedContexts();
+
+        // then
+        BoundedContext bc = boundedContexts.iterator().next();
+        Set<String> aggregateNames = bc.getAggregates().stream().map(Aggregate::getName).collect(Collectors.toSet());
+        assertEquals(Set.of("customers_addresses", "customers_addresses_1"), aggregateNames);
+    }
+
+    @Test
+    public void canParseSpecificationsInParallel() {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy(SAMPLE_CONTRACT_LOCATION,
+                "./src/test/resources/test/oas-tests/colliding-aggregate-names.yml").usingParallelParsing(executor);
+
+        // when
+        Set<BoundedContext> boundedContexts;
+        try {
+            boundedContexts = strategy.discoverBoundedContexts();
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertEquals(Set.of("ReferenceManagementServiceAPI", "CollidingNamesAPI"), boundedContexts.stream().map(BoundedContext::getName).collect(Collectors.toSet()));
+        BoundedContext bc = boundedContexts.stream().filter(b -> b.getName().equals("CollidingNamesAPI")).findFirst().get();
+        assertEquals(Set.of("customers_addresses", "customers_addresses_1"), bc.getAggregates().stream().map(Aggregate::getName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void canReportParsingErrorsInParallelMode() {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy(SAMPLE_CONTRACT_LOCATION,
+                "./src/test/resources/test/oas-tests/oas-with-error.yml").usingParallelParsing(executor);
+
+        // when, then
+        try {
+            assertThrows(RuntimeException.class, strategy::discoverBoundedContexts);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void canDiscoverWithLazySchemaResolution() {
+        // given
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy("./src/test/resources/test/oas-tests/unreachable-schemas.yml")
+                .usingLazySchemaResolution();
+
+        // when
+        Set<BoundedContext> boundedContexts = strategy.discoverBoundedContexts();
+
+        // then
+        BoundedContext bc = boundedContexts.iterator().next();
+        assertEquals("LargeCatalogAPI", bc.getName());
+        Aggregate aggregate = bc.getAggregates().iterator().next();
+        assertEquals(Set.of("Customer", "AddressType", "CustomerInput"), aggregate.getDomainObjects().stream().map(DomainObject::getName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void lazySchemaResolutionDiscoversSameModel() {
+        // given
+        OASBoundedContextDiscoveryStrategy eagerStrategy = new OASBoundedContextDiscoveryStrategy(SAMPLE_CONTRACT_LOCATION);
+        OASBoundedContextDiscoveryStrategy lazyStrategy = new OASBoundedContextDiscoveryStrategy(SAMPLE_CONTRACT_LOCATION).usingLazySchemaResolution();
+
+        // when
+        BoundedContext eager = eagerStrategy.discoverBoundedContexts().iterator().next();
+        BoundedContext lazy = lazyStrategy.discoverBoundedContexts().iterator().next();
+
+        // then
+        assertEquals(eager.getName(), lazy.getName());
+        assertEquals(eager.getAggregates().stream().map(Aggregate::getName).collect(Collectors.toSet()),
+                lazy.getAggregates().stream().map(Aggregate::getName).collect(Collectors.toSet()));
+        assertEquals(eager.getAggregates().stream().flatMap(a -> a.getDomainObjects().stream()).map(DomainObject::getName).collect(Collectors.toSet()),
+                lazy.getAggregates().stream().flatMap(a -> a.getDomainObjects().stream()).map(DomainObject::getName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void canDiscoverFromCache(@TempDir Path tempDir) {
+        // given
+        OASBoundedContextDiscoveryStrategy uncachedStrategy = new OASBoundedContextDiscoveryStrategy(SAMPLE_CONTRACT_LOCATION);
+        new OASBoundedContextDiscoveryStrategy(SAMPLE_CONTRACT_LOCATION).usingCacheDirectory(tempDir.toFile()).discoverBoundedContexts();
+        OASBoundedContextDiscoveryStrategy cachedStrategy = new OASBoundedContextDiscoveryStrategy(SAMPLE_CONTRACT_LOCATION).usingCacheDirectory(tempDir.toFile());
+
+        // when
+        BoundedContext uncached = uncachedStrategy.discoverBoundedContexts().iterator().next();
+        BoundedContext cached = cachedStrategy.discoverBoundedContexts().iterator().next();
+
+        // then
+        assertEquals(1, tempDir.toFile().list().length);
+        assertEquals(uncached.getName(), cached.getName());
+        assertEquals(uncached.getAggregates(), cached.getAggregates());
+        for (Aggregate aggregate : uncached.getAggregates()) {
+            Aggregate cachedAggregate = cached.getAggregates().stream().filter(a -> a.getName().equals(aggregate.getName())).findFirst().get();
+            assertEquals(aggregate.getDomainObjects(), cachedAggregate.getDomainObjects());
+            assertEquals(aggregate.getServices().iterator().next().getOperations(), cachedAggregate.getServices().iterator().next().getOperations());
+        }
+    }
+
+    @Test
+    public void canShareStructurallyEqualDomainObjects() {
+        // given
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy("./src/test/resources/test/oas-tests/shared-schemas.yml")
+                .usingStructuralDeduplication();
+
+        // when
+        BoundedContext bc = strategy.discoverBoundedContexts().iterator().next();
+
+        // then
+        DomainObject customer = findDomainObject(bc, "Customer");
+        DomainObject supplier = findDomainObject(bc, "Supplier");
+        DomainObject address = findAttribute(customer, "address").getType().getDomainObjectType();
+        assertSame(address, findAttribute(supplier, "address").getType().getDomainObjectType());
+        assertEquals(1, bc.getAggregates().stream().filter(a -> a.getDomainObjects().stream().anyMatch(d -> d == address)).count());
+        assertSame(customer.getParent(), address.getParent());
+        DomainObject warehouseAddress = findAttribute(findDomainObject(bc, "GetWarehouseReturnType"), "address").getType().getDomainObjectType();
+        assertSame(warehouseAddress, findAttribute(findDomainObject(bc, "GetStoreReturnType"), "address").getType().getDomainObjectType());
+        assertNotSame(address, warehouseAddress);
+        assertEquals(9, strategy.getDeduplicationStatistics().getCreatedDomainObjects());
+        assertEquals(2, strategy.getDeduplicationStatistics().getSharedDomainObjects());
+        assertEquals(11.0 / 9.0, strategy.getDeduplicationStatistics().getDeduplicationRatio(), 0.001);
+    }
+
+    @Test
+    public void doesNotShareDistinctSchemasWithEqualStructure() {
+        // given
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy("./src/test/resources/test/oas-tests/shared-schemas.yml")
+                .usingStructuralDeduplication();
+
+        // when
+        BoundedContext bc = strategy.discoverBoundedContexts().iterator().next();
+
+        // then
+        DomainObject supplier = findDomainObject(bc, "Supplier");
+        DomainObject address = findAttribute(supplier, "address").getType().getDomainObjectType();
+        DomainObject billingAddress = findAttribute(supplier, "billingAddress").getType().getDomainObjectType();
+        assertNotSame(address, billingAddress);
+        assertEquals("AddressType", address.getName());
+        assertEquals("BillingAddressType", billingAddress.getName());
+    }
+
+    @Test
+    public void doesNotShareSchemasWithoutProperties() {
+        // given
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy("./src/test/resources/test/oas-tests/shared-schemas.yml")
+                .usingStructuralDeduplication();
+
+        // when
+        BoundedContext bc = strategy.discoverBoundedContexts().iterator().next();
+
+        // then
+        DomainObject customerTags = findAttribute(findDomainObject(bc, "Customer"), "tags").getType().getDomainObjectType();
+        DomainObject supplierTags = findAttribute(findDomainObject(bc, "Supplier"), "tags").getType().getDomainObjectType();
+        assertNotSame(customerTags, supplierTags);
+        assertSame(findDomainObject(bc, "Customer").getParent(), customerTags.getParent());
+        assertSame(findDomainObject(bc, "Supplier").getParent(), supplierTags.getParent());
+    }
+
+    @Test
+    public void doesNotShareDomainObjectsByDefault() {
+        // given
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy("./src/test/resources/test/oas-tests/shared-schemas.yml");
+
+        // when
+        BoundedContext bc = strategy.discoverBoundedContexts().iterator().next();
+
+        // then
+        DomainObject customer = findDomainObject(bc, "Customer");
+        DomainObject supplier = findDomainObject(bc, "Supplier");
+        assertNotSame(findAttribute(customer, "address").getType().getDomainObjectType(),
+                findAttribute(supplier, "address").getType().getDomainObjectType());
+        assertEquals(0, strategy.getDeduplicationStatistics().getSharedDomainObjects());
+        assertEquals(1.0, strategy.getDeduplicationStatistics().getDeduplicationRatio(), 0.001);
+    }
+
+    @Test
+    public void canShareDomainObjectsOfRecursiveSchemas() {
+        // given
+        OASBoundedContextDiscoveryStrategy strategy = new OASBoundedContextDiscoveryStrategy("./src/test/resources/test/oas-tests/recursive-schemas.yml")
+                .usingStructuralDeduplication();
+
+        // when
+        BoundedContext bc = strategy.discoverBoundedContexts().iterator().next();
+
+        // then
+        DomainObject node = findDomainObject(bc, "Node");
+        assertSame(node, findAttribute(node, "parent").getType().getDomainObjectType());
+        DomainObject customer = findDomainObject(bc, "Customer");
+        assertSame(customer, findAttribute(findAttribute(customer, "address").getType().getDomainObjectType(), "resident").getType().getDomainObjectType());
+    }
+
+    private DomainObject findDomainObject(BoundedContext bc, String name) {
+        return bc.getAggregates().stream().flatMap(a -> a.getDomainObjects().stream()).filter(o -> o.getName().equals(name)).findFirst().get();
+    }
+
+    private Attribute findAttribute(DomainObject domainObject, String name) {
+        return domainObject.getAttributes().stream().filter(a -> a.getName().equals(name)).findFirst().get();
+    }
+
     private class TestAppender extends AppenderSkeleton {
         List<LoggingEvent> events = new ArrayList<LoggingEvent>();
 
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.boundedcontexts;
+
+import org.contextmapper.discovery.model.Aggregate;
+import org.contextmapper.discovery.model.BoundedContext;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Measures the REST-based discovery on a large generated application (run with 'gradle benchmark').
+ */
+@Tag("benchmark")
+public class SpringBootBoundedContextDiscoveryStrategyBenchmark {
+
+    private static final int CONTROLLERS = 2000;
+    private static final int METHODS_PER_CONTROLLER = 10;
+
+    @Test
+    public void discoverLargeApplication(@TempDir Path tempDir) throws IOException, URISyntaxException {
+        // given
+        Path classes = generateApplication(tempDir);
+
+        // when
+        long start = System.nanoTime();
+        Set<BoundedContext> boundedContexts = new SpringBootBoundedContextDiscoveryStrategy("bench", classes.toFile()).discoverBoundedContexts();
+        long time = (System.nanoTime() - start) / 1000000;
+
+        // then
+        assertEquals(1, boundedContexts.size());
+        Set<Aggregate> aggregates = boundedContexts.iterator().next().getAggregates();
+        int domainObjects = aggregates.stream().mapToInt(a -> a.getDomainObjects().size()).sum();
+        assertEquals(CONTROLLERS, aggregates.size());
+        assertTrue(domainObjects > CONTROLLERS * METHODS_PER_CONTROLLER);
+        System.out.println(String.format("discovered %d aggregates with %d domain objects in %d ms", aggregates.size(), domainObjects, time));
+    }
+
+    /**
+     * Generates and compiles a Spring Boot application with {@link #CONTROLLERS} controllers and
+     * {@link #METHODS_PER_CONTROLLER} DTOs per controller; each DTO references DTOs of its own and of another
+     * controller.
+     */
+    private Path generateApplication(Path directory) throws IOException, URISyntaxException {
+        Path sources = Files.createDirectories(directory.resolve("src"));
+        Path classes = Files.createDirectories(directory.resolve("classes"));
+        List<File> sourceFiles = new ArrayList<>();
+        sourceFiles.add(write(sources, "bench/BenchApplication.java",
+                "package bench;\n@org.springframework.boot.autoconfigure.SpringBootApplication\npublic class BenchApplication { }\n"));
+        for (int c = 0; c < CONTROLLERS; c++) {
+            StringBuilder controller = new StringBuilder("package bench.api;\nimport org.springframework.web.bind.annotation.*;\nimport bench.model.*;\n")
+                    .append("@RequestMapping(\"/resource").append(c).append("\")\npublic class Controller").append(c).append(" {\n");
+            for (int m = 0; m < METHODS_PER_CONTROLLER; m++) {
+                String dto = dtoName(c, m);
+                controller.append("    @GetMapping(\"/m").append(m).append("\") public ").append(dto).append(" m").append(m)
+                        .append("(").append(dtoName(c, (m + 1) % METHODS_PER_CONTROLLER)).append(" input) { return null; }\n");
+                sourceFiles.add(write(sources, "bench/model/" + dto + ".java", "package bench.model;\npublic class " + dto + " {\n" +
+                        "    private String name;\n" +
+                        "    private " + dtoName((c + 1) % CONTROLLERS, m) + " other;\n" +
+                        "    private java.util.List<" + dtoName(c, (m + 2) % METHODS_PER_CONTROLLER) + "> items;\n" +
+                        "}\n"));
+            }
+            sourceFiles.add(write(sources, "bench/api/Controller" + c + ".java", controller.append("}\n").toString()));
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8)) {
+            fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classes.toFile()));
+            fileManager.setLocation(StandardLocation.CLASS_PATH, Arrays.asList(codeSource(RequestMapping.class), codeSource(SpringBootApplication.class)));
+            assertTrue(compiler.getTask(null, fileManager, null, Collections.singletonList("-proc:none"), null, fileManager.getJavaFileObjectsFromFiles(sourceFiles)).call());
+        }
+        return classes;
+    }
+
+    private String dtoName(int controller, int method) {
+        return "Dto" + controller + "_" + method;
+    }
+
+    private File write(Path sources, String fileName, String content) throws IOException {
+        Path file = sources.resolve(fileName);
+        Files.createDirectories(file.getParent());
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return file.toFile();
+    }
+
+    private File codeSource(Class<?> type) throws URISyntaxException {
+        return new File(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+}
@@ -17,9 +17,20 @@ package org.contextmapper.discovery.strategies.boundedcontexts;
 
 import org.contextmapper.discovery.ContextMapDiscoverer;
 import org.contextmapper.discovery.model.*;
+import org.contextmapper.discovery.strategies.helper.ClasspathIndex;
+import org.contextmapper.discovery.strategies.helper.ReflectionsClasspathScanner;
 import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.RequestMapping;
+import test.application.spring.boot.TestSpringBootApplication;
 
+import java.io.File;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -321,4 +332,240 @@ public class SpringBootBoundedContextDiscoveryStrategyTest {
         DomainObject domainObject = aggregate.getDomainObjects().stream().filter(e -> e.getName().equals("Address")).findAny().get();
         assertEquals("This value object has been derived from the class test.application.spring.boot.model.Address.", domainObject.getDiscoveryComment());
     }
+
+    @Test
+    public void canDiscoverWithPreBuiltClasspathIndex() {
+        // given
+        ClasspathIndex index = new ClasspathIndex();
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingClasspathIndex(index)
+                .usingBoundedContextDiscoveryStrategies(
+                        new SpringBootBoundedContextDiscoveryStrategy("test.microservice.spring.boot"),
+                        new SpringBootBoundedContextDiscoveryStrategy("test.application.spring.boot", index)
+                );
+
+        // when
+        Set<BoundedContext> boundedContexts = discoverer.discoverContextMap().getBoundedContexts();
+
+        // then
+        assertEquals(3, boundedContexts.size());
+        assertEquals(2, index.getTypesAnnotatedWith("test.application.spring.boot", RequestMapping.class).size());
+    }
+
+    @Test
+    public void canDiscoverWithReflectionsScanner() {
+        // given
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingClasspathIndex(new ClasspathIndex(new ReflectionsClasspathScanner()))
+                .usingBoundedContextDiscoveryStrategies(
+                        new SpringBootBoundedContextDiscoveryStrategy("test.application.spring.boot")
+                );
+
+        // when
+        Set<BoundedContext> boundedContexts = discoverer.discoverContextMap().getBoundedContexts();
+
+        // then
+        assertEquals(1, boundedContexts.size());
+        BoundedContext bc = boundedContexts.iterator().next();
+        assertEquals("TestSpringBoot", bc.getName());
+        assertEquals(1, bc.getAggregates().size());
+        assertEquals("customers", bc.getAggregates().iterator().next().getName());
+    }
+
+    @Test
+    public void canDiscoverFromIsolatedClasspath() throws URISyntaxException {
+        // given
+        File testClasses = new File(TestSpringBootApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        SpringBootBoundedContextDiscoveryStrategy strategy = new SpringBootBoundedContextDiscoveryStrategy("test.application.spring.boot", testClasses);
+
+        // when
+        Set<BoundedContext> boundedContexts = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(strategy)
+                .discoverContextMap().getBoundedContexts();
+
+        // then
+        assertEquals(1, boundedContexts.size());
+        BoundedContext bc = boundedContexts.iterator().next();
+        assertEquals("TestSpringBoot", bc.getName());
+        assertEquals(1, bc.getAggregates().size());
+        Aggregate aggregate = bc.getAggregates().iterator().next();
+        assertEquals("customers", aggregate.getName());
+        assertTrue(aggregate.getDomainObjects().stream().anyMatch(o -> o.getName().equals("Address")));
+        assertEquals(describe(boundedContexts), describe(strategy.discoverBoundedContexts()));
+    }
+
+    @Test
+    public void canRunDiscoveryRepeatedly() {
+        // given
+        SpringBootBoundedContextDiscoveryStrategy strategy = new SpringBootBoundedContextDiscoveryStrategy("test.duplicate.aggregate.name");
+
+        // when
+        Set<BoundedContext> first = strategy.discoverBoundedContexts();
+        Set<BoundedContext> second = strategy.discoverBoundedContexts();
+
+        // then
+        Set<String> aggregateNames = second.iterator().next().getAggregates().stream().map(Aggregate::getName).collect(Collectors.toSet());
+        assertEquals(Set.of("test", "TestSpringBoot_test", "TestSpringBoot_test_1"), aggregateNames);
+        assertEquals(describe(first), describe(second));
+    }
+
+    @Test
+    public void canRunDiscoveriesConcurrently() throws Exception {
+        // given
+        SpringBootBoundedContextDiscoveryStrategy strategy = new SpringBootBoundedContextDiscoveryStrategy("test.duplicate.domainobject.name");
+        List<String> expected = describe(strategy.discoverBoundedContexts());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        List<Future<Set<BoundedContext>>> runs = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                runs.add(executor.submit(strategy::discoverBoundedContexts));
+            }
+
+            // then
+            for (Future<Set<BoundedContext>> run : runs) {
+                assertEquals(expected, describe(run.get()));
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void canDiscoverBoundedContextsInParallel() {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        SpringBootBoundedContextDiscoveryStrategy parallelStrategy = new SpringBootBoundedContextDiscoveryStrategy("test");
+        parallelStrategy.usingParallelDiscovery(executor);
+
+        // when
+        Set<BoundedContext> sequential = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(new SpringBootBoundedContextDiscoveryStrategy("test"))
+                .discoverContextMap().getBoundedContexts();
+        Set<BoundedContext> parallel;
+        try {
+            parallel = new ContextMapDiscoverer()
+                    .usingBoundedContextDiscoveryStrategies(parallelStrategy)
+                    .discoverContextMap().getBoundedContexts();
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        assertFalse(parallel.isEmpty());
+        assertEquals(describe(sequential), describe(parallel));
+    }
+
+    @Test
+    public void canFollowNestedDomainObjectsUpToConfiguredDepth() {
+        // given
+        SpringBootBoundedContextDiscoveryStrategy strategy = new SpringBootBoundedContextDiscoveryStrategy("test.nested.model");
+        strategy.usingDomainModelDepth(2);
+
+        // when
+        Set<BoundedContext> boundedContexts = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(strategy)
+                .discoverContextMap().getBoundedContexts();
+
+        // then
+        Aggregate aggregate = boundedContexts.iterator().next().getAggregates().iterator().next();
+        assertEquals(Set.of("orders_RootEntity", "OrderDto", "CustomerDto", "OrderLineDto", "ProductDto"),
+                aggregate.getDomainObjects().stream().map(DomainObject::getName).collect(Collectors.toSet()));
+        DomainObject orderLine = aggregate.getDomainObjects().stream().filter(o -> o.getName().equals("OrderLineDto")).findFirst().get();
+        Attribute order = orderLine.getAttributes().stream().filter(a -> a.getName().equals("order")).findFirst().get();
+        assertTrue(order.getType().isDomainObjectType());
+        assertEquals("OrderDto", order.getType().getDomainObjectType().getName());
+        DomainObject product = aggregate.getDomainObjects().stream().filter(o -> o.getName().equals("ProductDto")).findFirst().get();
+        Attribute categories = product.getAttributes().stream().filter(a -> a.getName().equals("categories")).findFirst().get();
+        assertTrue(categories.getType().isPrimitiveType());
+        assertEquals("CategoryDto", categories.getType().getName());
+    }
+
+    @Test
+    public void canReferenceArraysOfNestedDomainObjects() {
+        // given
+        SpringBootBoundedContextDiscoveryStrategy strategy = new SpringBootBoundedContextDiscoveryStrategy("test.nested.model");
+        strategy.usingDomainModelDepth(10);
+
+        // when
+        Set<BoundedContext> boundedContexts = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(strategy)
+                .discoverContextMap().getBoundedContexts();
+
+        // then
+        Aggregate aggregate = boundedContexts.iterator().next().getAggregates().iterator().next();
+        assertEquals(6, aggregate.getDomainObjects().size());
+        DomainObject product = aggregate.getDomainObjects().stream().filter(o -> o.getName().equals("ProductDto")).findFirst().get();
+        Attribute categories = product.getAttributes().stream().filter(a -> a.getName().equals("categories")).findFirst().get();
+        assertTrue(categories.getType().isDomainObjectType());
+        assertEquals("List", categories.getType().getCollectionType());
+    }
+
+    @Test
+    public void doesNotFollowNestedDomainObjectsByDefault() {
+        // given
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(
+                        new SpringBootBoundedContextDiscoveryStrategy("test.nested.model")
+                );
+
+        // when
+        Set<BoundedContext> boundedContexts = discoverer.discoverContextMap().getBoundedContexts();
+
+        // then
+        Aggregate aggregate = boundedContexts.iterator().next().getAggregates().iterator().next();
+        assertEquals(Set.of("orders_RootEntity", "OrderDto"), aggregate.getDomainObjects().stream().map(DomainObject::getName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void canUnwrapRegisteredWrapperTypes() {
+        // given
+        SpringBootBoundedContextDiscoveryStrategy strategy = new SpringBootBoundedContextDiscoveryStrategy("test.custom.wrapper");
+        strategy.usingWrapperType("test.custom.wrapper.dto.ApiResponse", null);
+
+        // when
+        Set<BoundedContext> boundedContexts = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(strategy)
+                .discoverContextMap().getBoundedContexts();
+
+        // then
+        Aggregate aggregate = boundedContexts.iterator().next().getAggregates().iterator().next();
+        assertEquals(Set.of("customers_RootEntity", "CustomerDto"), aggregate.getDomainObjects().stream().map(DomainObject::getName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void doesNotUnwrapUnregisteredGenericTypes() {
+        // given
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(
+                        new SpringBootBoundedContextDiscoveryStrategy("test.custom.wrapper")
+                );
+
+        // when
+        Set<BoundedContext> boundedContexts = discoverer.discoverContextMap().getBoundedContexts();
+
+        // then
+        Aggregate aggregate = boundedContexts.iterator().next().getAggregates().iterator().next();
+        assertEquals(Set.of("customers_RootEntity", "ApiResponse"), aggregate.getDomainObjects().stream().map(DomainObject::getName).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void cannotUseNegativeDomainModelDepth() {
+        // given
+        SpringBootBoundedContextDiscoveryStrategy strategy = new SpringBootBoundedContextDiscoveryStrategy("test.nested.model");
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> strategy.usingDomainModelDepth(-1));
+    }
+
+    private List<String> describe(Set<BoundedContext> boundedContexts) {
+        return boundedContexts.stream()
+                .flatMap(bc -> bc.getAggregates().stream().flatMap(agg -> agg.getDomainObjects().stream().flatMap(o -> o.getAttributes().stream()
+                        .map(a -> bc.getName() + "/" + agg.getName() + "/" + o.getName() + "." + a.getName() + ":"
+                                + (a.getType().isCollectionType() ? a.getType().getCollectionType() : "") + "<" + a.getType().getName() + ">"))))
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import test.application.spring.boot.interfaces.CustomerInformationHolder;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AnnotationScannerTest {
+
+    @Test
+    public void canFindMethodsAnnotatedWithMetaAnnotation() {
+        // given
+        AnnotationScanner scanner = new AnnotationScanner();
+
+        // when
+        Set<Method> methods = scanner.scanForAnnotatedMethods(CustomerInformationHolder.class, RequestMapping.class);
+
+        // then
+        Set<String> methodNames = methods.stream().map(Method::getName).collect(Collectors.toSet());
+        assertEquals(4, methodNames.size());
+        assertTrue(methodNames.contains("changeAddress"));
+        assertTrue(methodNames.contains("getCustomer"));
+        assertTrue(methodNames.contains("getCustomers"));
+        assertTrue(methodNames.contains("deleteCustomer"));
+    }
+
+    @Test
+    public void canFindOnlyMethodsWithGivenAnnotation() {
+        // given
+        AnnotationScanner scanner = new AnnotationScanner();
+
+        // when
+        Set<Method> methods = scanner.scanForAnnotatedMethods(CustomerInformationHolder.class, GetMapping.class);
+
+        // then
+        Set<String> methodNames = methods.stream().map(Method::getName).collect(Collectors.toSet());
+        assertEquals(2, methodNames.size());
+        assertTrue(methodNames.contains("getCustomer"));
+        assertTrue(methodNames.contains("getCustomers"));
+    }
+
+}
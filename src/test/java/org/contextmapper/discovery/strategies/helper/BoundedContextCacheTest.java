@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.contextmapper.discovery.model.*;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BoundedContextCacheTest {
+
+    @Test
+    public void canReuseBoundedContextOfUnchangedSpecification(@TempDir Path tempDir) throws IOException {
+        // given
+        Path spec = writeFile(tempDir.resolve("api.yml"), "openapi: 3.0.1");
+        AtomicInteger discoveries = new AtomicInteger();
+
+        // when
+        new BoundedContextCache(tempDir.resolve("cache").toFile()).getOrDiscover(spec.toString(), () -> {
+            discoveries.incrementAndGet();
+            return createBoundedContext();
+        });
+        BoundedContext cached = new BoundedContextCache(tempDir.resolve("cache").toFile()).getOrDiscover(spec.toString(), () -> {
+            discoveries.incrementAndGet();
+            return new BoundedContext("Other");
+        });
+
+        // then
+        assertEquals(1, discoveries.get());
+        assertEquals("CustomerAPI", cached.getName());
+        assertEquals("REST", cached.getTechnology());
+        Aggregate aggregate = cached.getAggregates().iterator().next();
+        assertEquals("customers", aggregate.getName());
+        assertEquals("Customer", aggregate.getRootEntity().getName());
+        DomainObject customer = aggregate.getRootEntity();
+        Attribute address = customer.getAttributes().stream().filter(a -> a.getName().equals("address")).findFirst().get();
+        DomainObject addressType = address.getType().getDomainObjectType();
+        assertSame(aggregate, addressType.getParent());
+        Attribute resident = addressType.getAttributes().iterator().next();
+        assertSame(customer, resident.getType().getDomainObjectType());
+        assertEquals("List", resident.getType().getCollectionType());
+        Service service = aggregate.getServices().iterator().next();
+        assertEquals("customersService", service.getName());
+        Method operation = service.getOperations().iterator().next();
+        assertEquals("getCustomer", operation.getName());
+        assertSame(customer, operation.getReturnType().getDomainObjectType());
+        assertEquals("String", operation.getParameters().iterator().next().getType().getPrimitiveType());
+    }
+
+    @Test
+    public void canDiscoverAgainIfReferencedFileChanged(@TempDir Path tempDir) throws IOException {
+        // given
+        Path spec = writeFile(tempDir.resolve("api.yml"), "schema:\n  $ref: 'schemas/customer.yml#/Customer'");
+        Path referencedFile = writeFile(tempDir.resolve("schemas").resolve("customer.yml"), "Customer: {}");
+        BoundedContextCache cache = new BoundedContextCache(tempDir.resolve("cache").toFile());
+        AtomicInteger discoveries = new AtomicInteger();
+        cache.getOrDiscover(spec.toString(), () -> {
+            discoveries.incrementAndGet();
+            return createBoundedContext();
+        });
+
+        // when
+        writeFile(referencedFile, "Customer: { type: object }");
+        cache.getOrDiscover(spec.toString(), () -> {
+            discoveries.incrementAndGet();
+            return createBoundedContext();
+        });
+        cache.getOrDiscover(spec.toString(), () -> {
+            discoveries.incrementAndGet();
+            return createBoundedContext();
+        });
+
+        // then
+        assertEquals(2, discoveries.get());
+    }
+
+    @Test
+    public void canCacheBoundedContextsPerDiscoveryOptions(@TempDir Path tempDir) throws IOException {
+        // given
+        Path spec = writeFile(tempDir.resolve("api.yml"), "openapi: 3.0.1");
+        BoundedContextCache cache = new BoundedContextCache(tempDir.resolve("cache").toFile());
+        cache.getOrDiscover(spec.toString(), this::createBoundedContext);
+
+        // when
+        BoundedContext boundedContext = cache.getOrDiscover(spec.toString(), "deduplicated", () -> new BoundedContext("Deduplicated"));
+
+        // then
+        assertEquals("Deduplicated", boundedContext.getName());
+        assertEquals(2, tempDir.resolve("cache").toFile().list().length);
+    }
+
+    @Test
+    public void doesNotCacheRemoteSpecifications(@TempDir Path tempDir) {
+        // given
+        BoundedContextCache cache = new BoundedContextCache(tempDir.resolve("cache").toFile());
+        AtomicInteger discoveries = new AtomicInteger();
+
+        // when
+        for (int i = 0; i < 2; i++) {
+            cache.getOrDiscover("https://example.org/api.yml", () -> {
+                discoveries.incrementAndGet();
+                return createBoundedContext();
+            });
+        }
+
+        // then
+        assertEquals(2, discoveries.get());
+        assertEquals(0, tempDir.resolve("cache").toFile().list().length);
+    }
+
+    @Test
+    public void canIgnoreCorruptCacheFile(@TempDir Path tempDir) throws IOException {
+        // given
+        Path spec = writeFile(tempDir.resolve("api.yml"), "openapi: 3.0.1");
+        File cacheDirectory = tempDir.resolve("cache").toFile();
+        BoundedContextCache cache = new BoundedContextCache(cacheDirectory);
+        cache.getOrDiscover(spec.toString(), this::createBoundedContext);
+        for (File cacheFile : cacheDirectory.listFiles()) {
+            Files.write(cacheFile.toPath(), new byte[]{0, 0, 0, 1, 42});
+        }
+
+        // when
+        BoundedContext boundedContext = cache.getOrDiscover(spec.toString(), this::createBoundedContext);
+
+        // then
+        assertEquals("CustomerAPI", boundedContext.getName());
+    }
+
+    @Test
+    public void cannotUseFileAsCacheDirectory(@TempDir Path tempDir) throws IOException {
+        // given
+        Path file = writeFile(tempDir.resolve("cache"), "");
+
+        // when, then
+        assertThrows(IllegalArgumentException.class, () -> new BoundedContextCache(file.toFile()));
+    }
+
+    private BoundedContext createBoundedContext() {
+        BoundedContext boundedContext = new BoundedContext("CustomerAPI");
+        boundedContext.setTechnology("REST");
+        Aggregate aggregate = new Aggregate("customers");
+        DomainObject customer = new DomainObject(DomainObjectType.ENTITY, "Customer");
+        DomainObject address = new DomainObject(DomainObjectType.VALUE_OBJECT, "AddressType");
+        customer.addAttribute(new Attribute(new Type("String"), "name"));
+        customer.addAttribute(new Attribute(new Type(address), "address"));
+        Type residents = new Type(customer);
+        residents.setCollectionType("List");
+        address.addAttribute(new Attribute(residents, "residents"));
+        aggregate.setRootEntity(customer);
+        aggregate.addDomainObject(address);
+        Service service = new Service("customersService");
+        Method operation = new Method("getCustomer");
+        operation.addParameter(new Parameter("id", new Type("String")));
+        operation.setReturnType(new Type(customer));
+        service.addOperation(operation);
+        aggregate.addService(service);
+        boundedContext.addAggregate(aggregate);
+        return boundedContext;
+    }
+
+    private Path writeFile(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.write(file, content.getBytes());
+    }
+
+}
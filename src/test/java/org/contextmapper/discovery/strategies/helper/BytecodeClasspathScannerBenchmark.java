@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures the scaling of the parallel classpath scanning (run with 'gradle benchmark').
+ */
+@Tag("benchmark")
+public class BytecodeClasspathScannerBenchmark {
+
+    private static final String PACKAGE = "org";
+    private static final int RUNS = 5;
+
+    @Test
+    public void scanClasspathWithIncreasingParallelism() {
+        BytecodeClasspathScanner sequentialScanner = new BytecodeClasspathScanner();
+        int typeCount = sequentialScanner.scan(PACKAGE).size(); // warm-up
+        long sequentialTime = measure(sequentialScanner);
+        System.out.println(String.format("scanned %d types in package '%s'", typeCount, PACKAGE));
+        System.out.println(String.format("sequential: %6d ms", sequentialTime));
+
+        for (int parallelism = 1; parallelism <= Runtime.getRuntime().availableProcessors(); parallelism *= 2) {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            BytecodeClasspathScanner parallelScanner = new BytecodeClasspathScanner();
+            parallelScanner.setForkJoinPool(pool);
+            long time = measure(parallelScanner);
+            pool.shutdown();
+            System.out.println(String.format("%2d threads: %6d ms (speedup %.2f)", parallelism, time, (double) sequentialTime / time));
+        }
+    }
+
+    private long measure(BytecodeClasspathScanner scanner) {
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < RUNS; i++) {
+            long start = System.nanoTime();
+            scanner.scan(PACKAGE);
+            best = Math.min(best, (System.nanoTime() - start) / 1000000);
+        }
+        return best;
+    }
+
+}
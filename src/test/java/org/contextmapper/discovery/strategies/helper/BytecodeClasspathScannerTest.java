@@ -0,0 +1,47 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BytecodeClasspathScannerTest {
+
+    @Test
+    public void canScanClasspathInParallel() {
+        // given
+        BytecodeClasspathScanner sequentialScanner = new BytecodeClasspathScanner();
+        BytecodeClasspathScanner parallelScanner = new BytecodeClasspathScanner();
+        ForkJoinPool pool = new ForkJoinPool(4);
+        parallelScanner.setForkJoinPool(pool);
+
+        // when
+        List<String> sequentialTypes = sequentialScanner.scan("org.springframework").stream().map(TypeDescriptor::getName).collect(Collectors.toList());
+        List<String> parallelTypes = parallelScanner.scan("org.springframework").stream().map(TypeDescriptor::getName).collect(Collectors.toList());
+        pool.shutdown();
+
+        // then
+        assertTrue(sequentialTypes.size() > 512);
+        assertEquals(sequentialTypes, parallelTypes);
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import test.application.spring.boot.interfaces.CustomerInformationHolder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ClassFileReaderTest {
+
+    @Test
+    public void canReadTypeAndAnnotations() throws IOException {
+        // when
+        TypeDescriptor type = readClassFile(CustomerInformationHolder.class);
+
+        // then
+        assertEquals("test.application.spring.boot.interfaces.CustomerInformationHolder", type.getName());
+        assertEquals("CustomerInformationHolder", type.getSimpleName());
+        assertEquals("test.application.spring.boot.interfaces", type.getPackageName());
+        assertEquals("java.lang.Object", type.getSuperName());
+        assertTrue(type.hasAnnotation(RestController.class.getName()));
+        assertEquals(1, type.getAnnotationValues(RequestMapping.class.getName(), "value").size());
+        assertEquals("/customers", type.getAnnotationValues(RequestMapping.class.getName(), "value").get(0));
+    }
+
+    @Test
+    public void canReadMethodsWithSignatures() throws IOException {
+        // when
+        TypeDescriptor type = readClassFile(CustomerInformationHolder.class);
+
+        // then
+        TypeDescriptor.Member getCustomers = type.getMethods().stream().filter(m -> m.getName().equals("getCustomers")).findFirst().get();
+        assertEquals("(Ljava/util/List;)Lorg/springframework/http/ResponseEntity;", getCustomers.getDescriptor());
+        assertEquals("(Ljava/util/List<Ltest/application/spring/boot/model/CustomerId;>;)Lorg/springframework/http/ResponseEntity<Ljava/util/List<Ltest/application/spring/boot/model/Customer;>;>;", getCustomers.getSignature());
+        assertTrue(getCustomers.getAnnotationNames().contains("org.springframework.web.bind.annotation.GetMapping"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(classes = {String.class, java.util.HashMap.class, Thread.class, RequestMapping.class, CustomerInformationHolder.class})
+    public void readsSameMembersAsReflection(Class<?> type) throws IOException {
+        // given
+        TypeDescriptor reflectiveDescriptor = TypeDescriptor.of(type);
+
+        // when
+        TypeDescriptor descriptor = readClassFile(type);
+
+        // then
+        assertEquals(reflectiveDescriptor.getName(), descriptor.getName());
+        if (!type.isInterface())
+            assertEquals(reflectiveDescriptor.getSuperName(), descriptor.getSuperName());
+        assertEquals(reflectiveDescriptor.getInterfaceNames(), descriptor.getInterfaceNames());
+        assertEquals(memberNames(reflectiveDescriptor), memberNames(descriptor).stream().filter(m -> !m.startsWith("<")).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void throwsExceptionForInvalidClassFile() {
+        assertThrows(IOException.class, () -> new ClassFileReader().read(new java.io.ByteArrayInputStream(new byte[]{1, 2, 3, 4})));
+    }
+
+    private Set<String> memberNames(TypeDescriptor type) {
+        return type.getMethods().stream().map(TypeDescriptor.Member::toString).collect(Collectors.toSet());
+    }
+
+    private TypeDescriptor readClassFile(Class<?> type) throws IOException {
+        try (InputStream in = type.getResourceAsStream("/" + type.getName().replace('.', '/') + ".class")) {
+            return new ClassFileReader().read(in);
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ClasspathIndexTest {
+
+    @Test
+    public void doesNotAnswerSiblingPackageFromIndex() {
+        // given
+        StubScanner scanner = new StubScanner("com.acme.Customer", "com.acme.sub.Address", "com.acmecorp.Supplier");
+        ClasspathIndex index = new ClasspathIndex(scanner);
+
+        // when
+        Set<String> acmeTypes = getAnnotatedTypeNames(index, "com.acme");
+        Set<String> acmeCorpTypes = getAnnotatedTypeNames(index, "com.acmecorp");
+
+        // then
+        assertEquals(new HashSet<>(Arrays.asList("com.acme.Customer", "com.acme.sub.Address")), acmeTypes);
+        assertEquals(Collections.singleton("com.acmecorp.Supplier"), acmeCorpTypes);
+        assertEquals(Arrays.asList("com.acme", "com.acmecorp"), scanner.scannedPackages);
+    }
+
+    @Test
+    public void canAnswerSubPackageFromIndex() {
+        // given
+        StubScanner scanner = new StubScanner("com.acme.Customer", "com.acme.sub.Address", "com.acmecorp.Supplier");
+        ClasspathIndex index = new ClasspathIndex(scanner);
+
+        // when
+        getAnnotatedTypeNames(index, "com.acme");
+        Set<String> subPackageTypes = getAnnotatedTypeNames(index, "com.acme.sub");
+
+        // then
+        assertEquals(Collections.singleton("com.acme.sub.Address"), subPackageTypes);
+        assertEquals(Collections.singletonList("com.acme"), scanner.scannedPackages);
+    }
+
+    private Set<String> getAnnotatedTypeNames(ClasspathIndex index, String packageName) {
+        return index.getTypeDescriptorsAnnotatedWith(packageName, Deprecated.class).stream()
+                .map(TypeDescriptor::getName)
+                .collect(Collectors.toSet());
+    }
+
+    private static class StubScanner implements ClasspathScanner {
+        private final List<TypeDescriptor> types = new ArrayList<>();
+        private final List<String> scannedPackages = new ArrayList<>();
+
+        StubScanner(String... typeNames) {
+            for (String typeName : typeNames) {
+                types.add(new TypeDescriptor(typeName, null, Collections.emptyList(),
+                        Collections.singletonMap(Deprecated.class.getName(), Collections.emptyMap()), Collections.emptyList(), Collections.emptyList()));
+            }
+        }
+
+        @Override
+        public Collection<TypeDescriptor> scan(String packageName) {
+            scannedPackages.add(packageName);
+            return types.stream().filter(type -> type.isInPackage(packageName)).collect(Collectors.toList());
+        }
+
+        @Override
+        public ClassLoader getClassLoader() {
+            return getClass().getClassLoader();
+        }
+    }
+
+}
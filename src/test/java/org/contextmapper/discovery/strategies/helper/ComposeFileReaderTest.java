@@ -0,0 +1,130 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.FileNotFoundException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ComposeFileReaderTest {
+
+    @Test
+    public void canReadShortDependsOnSyntax() {
+        // given
+        String compose = "version: '3'\n" +
+                "services:\n" +
+                "  web:\n" +
+                "    image: web\n" +
+                "    ports: ['8080:8080']\n" +
+                "    depends_on:\n" +
+                "      - db\n" +
+                "      - cache\n" +
+                "  db:\n" +
+                "    image: postgres\n";
+
+        // when
+        List<ComposeFileReader.ComposeService> services = new ComposeFileReader().read(new StringReader(compose));
+
+        // then
+        assertEquals(2, services.size());
+        assertEquals("web", services.get(0).getName());
+        assertEquals(new LinkedHashSet<>(Arrays.asList("db", "cache")), services.get(0).getDependencies());
+        assertEquals("db", services.get(1).getName());
+        assertTrue(services.get(1).getDependencies().isEmpty());
+    }
+
+    @Test
+    public void canReadLongDependsOnSyntaxAndLinks() {
+        // given
+        String compose = "services:\n" +
+                "  web:\n" +
+                "    depends_on:\n" +
+                "      db:\n" +
+                "        condition: service_healthy\n" +
+                "        restart: true\n" +
+                "    links:\n" +
+                "      - cache:redis\n" +
+                "      - db\n" +
+                "    networks:\n" +
+                "      frontend:\n" +
+                "        aliases: [web-frontend]\n" +
+                "      backend: {}\n" +
+                "  db:\n" +
+                "    networks: [backend]\n";
+
+        // when
+        List<ComposeFileReader.ComposeService> services = new ComposeFileReader().read(new StringReader(compose));
+
+        // then
+        assertEquals(new LinkedHashSet<>(Arrays.asList("db", "cache")), services.get(0).getDependencies());
+        assertEquals(new LinkedHashSet<>(Arrays.asList("frontend", "backend")), services.get(0).getNetworks());
+        assertEquals(new LinkedHashSet<>(Arrays.asList("backend")), services.get(1).getNetworks());
+    }
+
+    @Test
+    public void canSkipExtensionsAnchorsAndOtherSections() {
+        // given
+        String compose = "x-common: &common\n" +
+                "  depends_on: [ignored]\n" +
+                "volumes:\n" +
+                "  data: {}\n" +
+                "services:\n" +
+                "  web:\n" +
+                "    <<: *common\n" +
+                "    environment:\n" +
+                "      depends_on: not-a-dependency\n" +
+                "    depends_on: [db]\n" +
+                "  worker:\n" +
+                "networks:\n" +
+                "  backend:\n";
+
+        // when
+        List<ComposeFileReader.ComposeService> services = new ComposeFileReader().read(new StringReader(compose));
+
+        // then
+        assertEquals(2, services.size());
+        assertEquals(new LinkedHashSet<>(Arrays.asList("db")), services.get(0).getDependencies());
+        assertEquals("worker", services.get(1).getName());
+    }
+
+    @Test
+    public void emptyResultIfFileDoesNotContainServices() {
+        // when
+        List<ComposeFileReader.ComposeService> noServices = new ComposeFileReader().read(new StringReader("version: '3'\n"));
+        List<ComposeFileReader.ComposeService> emptyServices = new ComposeFileReader().read(new StringReader("services:\n"));
+        List<ComposeFileReader.ComposeService> emptyFile = new ComposeFileReader().read(new StringReader(""));
+
+        // then
+        assertTrue(noServices.isEmpty());
+        assertTrue(emptyServices.isEmpty());
+        assertTrue(emptyFile.isEmpty());
+    }
+
+    @Test
+    public void throwExceptionIfFileDoesNotExist(@TempDir Path tempDir) {
+        // when, then
+        assertThrows(FileNotFoundException.class, () -> new ComposeFileReader().read(tempDir.resolve("docker-compose.yml")));
+    }
+
+}
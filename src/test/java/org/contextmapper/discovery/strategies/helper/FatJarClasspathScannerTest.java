@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.web.bind.annotation.RequestMapping;
+import test.application.spring.boot.TestSpringBootApplication;
+import test.application.spring.boot.interfaces.CustomerInformationHolder;
+import test.application.spring.boot.interfaces.IgnoredResource;
+import test.application.spring.boot.model.Address;
+import test.application.spring.boot.model.Customer;
+import test.application.spring.boot.model.CustomerId;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FatJarClasspathScannerTest {
+
+    @Test
+    public void canFindTypesInApplicationClassesAndNestedLibraries(@TempDir Path tempDir) throws IOException {
+        // given
+        Path fatJar = createFatJar(tempDir);
+        ClasspathIndex index = new ClasspathIndex(new FatJarClasspathScanner(Collections.singletonList(fatJar)));
+
+        // when
+        List<TypeDescriptor> types = new FatJarClasspathScanner(Collections.singletonList(fatJar)).scan("test.application.spring.boot").stream()
+                .collect(java.util.stream.Collectors.toList());
+
+        // then
+        assertEquals(6, types.size());
+        assertTrue(types.contains(TypeDescriptor.of(CustomerId.class)));
+        assertEquals(1, index.getTypeDescriptorsAnnotatedWith("test.application.spring.boot", SpringBootApplication.class).size());
+        assertEquals(2, index.getTypeDescriptorsAnnotatedWith("test.application.spring.boot", RequestMapping.class).size());
+    }
+
+    @Test
+    public void canLoadClassesFromNestedLibraries(@TempDir Path tempDir) throws Exception {
+        // given
+        Path fatJar = createFatJar(tempDir);
+        FatJarClassLoader classLoader = new FatJarClassLoader(Collections.singletonList(fatJar), ClassLoader.getPlatformClassLoader());
+
+        // when
+        Class<?> type = classLoader.loadClass(CustomerId.class.getName());
+
+        // then
+        assertSame(classLoader, type.getClassLoader());
+        assertEquals("id", type.getDeclaredFields()[0].getName());
+        assertThrows(ClassNotFoundException.class, () -> classLoader.loadClass("test.application.spring.boot.DoesNotExist"));
+    }
+
+    /**
+     * Creates an executable jar (with launch script) with the application classes in BOOT-INF/classes and the model
+     * classes in an uncompressed nested library jar.
+     */
+    private Path createFatJar(Path directory) throws IOException {
+        Path fatJar = directory.resolve("application.jar");
+        try (OutputStream out = Files.newOutputStream(fatJar)) {
+            out.write("#!/bin/bash\nexec java -jar \"$0\" \"$@\"\n".getBytes());
+            try (JarOutputStream jar = new JarOutputStream(out)) {
+                for (Class<?> type : Arrays.asList(TestSpringBootApplication.class, CustomerInformationHolder.class, IgnoredResource.class)) {
+                    jar.putNextEntry(new JarEntry(FatJar.CLASSES_PREFIX + classFileName(type)));
+                    jar.write(readClassFile(type));
+                }
+                byte[] library = createLibrary(Address.class, Customer.class, CustomerId.class);
+                JarEntry libraryEntry = new JarEntry(FatJar.LIBRARIES_PREFIX + "model.jar");
+                libraryEntry.setMethod(ZipEntry.STORED);
+                libraryEntry.setSize(library.length);
+                CRC32 crc = new CRC32();
+                crc.update(library);
+                libraryEntry.setCrc(crc.getValue());
+                jar.putNextEntry(libraryEntry);
+                jar.write(library);
+            }
+        }
+        return fatJar;
+    }
+
+    private byte[] createLibrary(Class<?>... types) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JarOutputStream jar = new JarOutputStream(out)) {
+            for (Class<?> type : types) {
+                jar.putNextEntry(new JarEntry(classFileName(type)));
+                jar.write(readClassFile(type));
+            }
+        }
+        return out.toByteArray();
+    }
+
+    private String classFileName(Class<?> type) {
+        return type.getName().replace('.', '/') + ".class";
+    }
+
+    private byte[] readClassFile(Class<?> type) throws IOException {
+        try (InputStream in = type.getResourceAsStream(type.getSimpleName() + ".class")) {
+            return in.readAllBytes();
+        }
+    }
+
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.lang.reflect.Type;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GenericTypeResolverTest {
+
+    @Test
+    public void canUnwrapWrapperTypes() throws NoSuchMethodException {
+        // given
+        GenericTypeResolver resolver = new GenericTypeResolver();
+
+        // when
+        GenericTypeResolver.ResolvedType responseEntity = resolver.resolve(returnTypeOf("getCustomer"), CustomerController.class);
+        GenericTypeResolver.ResolvedType optional = resolver.resolve(returnTypeOf("findCustomer"), CustomerController.class);
+        GenericTypeResolver.ResolvedType future = resolver.resolve(returnTypeOf("loadCustomer"), CustomerController.class);
+
+        // then
+        assertNull(responseEntity.getCollectionType());
+        assertEquals(Customer.class, responseEntity.getType());
+        assertNull(optional.getCollectionType());
+        assertEquals(Customer.class, optional.getType());
+        assertNull(future.getCollectionType());
+        assertEquals(Customer.class, future.getType());
+    }
+
+    @Test
+    public void canResolveCollectionsAndArrays() throws NoSuchMethodException {
+        // given
+        GenericTypeResolver resolver = new GenericTypeResolver();
+
+        // when
+        GenericTypeResolver.ResolvedType list = resolver.resolve(returnTypeOf("getCustomers"), CustomerController.class);
+        GenericTypeResolver.ResolvedType set = resolver.resolve(returnTypeOf("getCustomerSet"), CustomerController.class);
+        GenericTypeResolver.ResolvedType array = resolver.resolve(returnTypeOf("getCustomerArray"), CustomerController.class);
+        GenericTypeResolver.ResolvedType customList = resolver.resolve(returnTypeOf("getCustomerList"), CustomerController.class);
+
+        // then
+        assertEquals("List", list.getCollectionType());
+        assertEquals(Customer.class, list.getType());
+        assertEquals("Set", set.getCollectionType());
+        assertEquals(Customer.class, set.getType());
+        assertEquals("List", array.getCollectionType());
+        assertEquals(Customer.class, array.getType());
+        assertEquals("List", customList.getCollectionType());
+        assertEquals(Customer.class, customList.getType());
+    }
+
+    @Test
+    public void canResolveCollectionBeingItsOwnElementType() throws NoSuchMethodException {
+        // given
+        GenericTypeResolver resolver = new GenericTypeResolver();
+
+        // when
+        GenericTypeResolver.ResolvedType node = resolver.resolve(returnTypeOf("getNode"), CustomerController.class);
+
+        // then
+        assertEquals("List", node.getCollectionType());
+        assertEquals(Node.class, node.getType());
+    }
+
+    @Test
+    public void canResolveRawTypesWithoutFailing() throws NoSuchMethodException {
+        // given
+        GenericTypeResolver resolver = new GenericTypeResolver();
+
+        // when
+        GenericTypeResolver.ResolvedType rawEntity = resolver.resolve(returnTypeOf("getRawEntity"), CustomerController.class);
+        GenericTypeResolver.ResolvedType map = resolver.resolve(returnTypeOf("getCustomerMap"), CustomerController.class);
+
+        // then
+        assertEquals(Object.class, rawEntity.getType());
+        assertNull(map.getCollectionType());
+        assertEquals(Map.class, map.getType());
+    }
+
+    @Test
+    public void canResolveTypeVariablesAgainstContext() throws NoSuchMethodException {
+        // given
+        GenericTypeResolver resolver = new GenericTypeResolver();
+        Type returnType = CrudController.class.getDeclaredMethod("getAll").getGenericReturnType();
+
+        // when
+        GenericTypeResolver.ResolvedType customers = resolver.resolve(returnType, CustomerController.class);
+        GenericTypeResolver.ResolvedType unresolved = resolver.resolve(returnType, CrudController.class);
+
+        // then
+        assertEquals("List", customers.getCollectionType());
+        assertEquals(Customer.class, customers.getType());
+        assertEquals(Object.class, unresolved.getType());
+    }
+
+    @Test
+    public void cachesResolvedTypes() throws NoSuchMethodException {
+        // given
+        GenericTypeResolver resolver = new GenericTypeResolver();
+
+        // when
+        GenericTypeResolver.ResolvedType first = resolver.resolve(returnTypeOf("getCustomers"), CustomerController.class);
+        GenericTypeResolver.ResolvedType second = resolver.resolve(returnTypeOf("getOtherCustomers"), CustomerController.class);
+
+        // then
+        assertSame(first, second);
+    }
+
+    @Test
+    public void canRegisterAdditionalWrapperTypes() throws NoSuchMethodException {
+        // given
+        GenericTypeResolver resolver = new GenericTypeResolver().unwrapping(Envelope.class.getName(), "Set");
+
+        // when
+        GenericTypeResolver.ResolvedType envelope = resolver.resolve(returnTypeOf("getEnvelope"), CustomerController.class);
+
+        // then
+        assertEquals("Set", envelope.getCollectionType());
+        assertEquals(Customer.class, envelope.getType());
+    }
+
+    private Type returnTypeOf(String methodName) throws NoSuchMethodException {
+        return CustomerController.class.getDeclaredMethod(methodName).getGenericReturnType();
+    }
+
+    private static class Customer {
+    }
+
+    private static class CustomerList extends ArrayList<Customer> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static class Node extends ArrayList<Node> {
+        private static final long serialVersionUID = 1L;
+    }
+
+    private static class Envelope<T> {
+    }
+
+    private static abstract class CrudController<T> {
+        abstract List<T> getAll();
+    }
+
+    private static abstract class CustomerController extends CrudController<Customer> {
+        abstract ResponseEntity<Customer> getCustomer();
+
+        abstract Optional<Customer> findCustomer();
+
+        abstract CompletableFuture<Customer> loadCustomer();
+
+        abstract ResponseEntity<List<Customer>> getCustomers();
+
+        abstract ResponseEntity<List<Customer>> getOtherCustomers();
+
+        abstract Set<Customer> getCustomerSet();
+
+        abstract Customer[] getCustomerArray();
+
+        abstract CustomerList getCustomerList();
+
+        @SuppressWarnings("rawtypes")
+        abstract ResponseEntity getRawEntity();
+
+        abstract Map<String, Customer> getCustomerMap();
+
+        abstract Envelope<Customer> getEnvelope();
+
+        abstract Node getNode();
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.contextmapper.discovery.model.BoundedContext;
+import org.contextmapper.discovery.strategies.boundedcontexts.SpringBootBoundedContextDiscoveryStrategy;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+
+import java.lang.reflect.Method;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexedClasspathScannerTest {
+
+    private static final String TEST_INDEX = "test/index/context-map-discovery.index";
+
+    @Test
+    public void canDiscoverFromIndexWithoutScanning() {
+        // given
+        RecordingScanner fallbackScanner = new RecordingScanner();
+        IndexedClasspathScanner scanner = new IndexedClasspathScanner(fallbackScanner, TEST_INDEX);
+        scanner.setIndexOnly(true);
+        ClasspathIndex index = new ClasspathIndex(scanner);
+
+        // when
+        Set<BoundedContext> boundedContexts = new SpringBootBoundedContextDiscoveryStrategy("test.application.spring.boot", index).discoverBoundedContexts();
+
+        // then
+        assertTrue(fallbackScanner.scannedPackages.isEmpty());
+        assertEquals(1, boundedContexts.size());
+        BoundedContext bc = boundedContexts.iterator().next();
+        assertEquals("TestSpringBoot", bc.getName());
+        assertEquals(1, bc.getAggregates().size());
+        assertEquals("customers", bc.getAggregates().iterator().next().getName());
+    }
+
+    @Test
+    public void scansClasspathEntriesWithoutIndex() throws Exception {
+        // given
+        RecordingScanner fallbackScanner = new RecordingScanner();
+        IndexedClasspathScanner scanner = new IndexedClasspathScanner(fallbackScanner, TEST_INDEX);
+        Path indexedRoot = Paths.get(getClass().getClassLoader().getResource(TEST_INDEX).toURI()).getParent().getParent().getParent();
+
+        // when
+        Collection<TypeDescriptor> types = scanner.scan("test.application.spring.boot");
+
+        // then
+        assertEquals(Collections.singletonList("test.application.spring.boot"), fallbackScanner.scannedPackages);
+        assertEquals(Collections.singleton(indexedRoot.toAbsolutePath().normalize()), fallbackScanner.skippedRoots);
+        assertTrue(types.stream().anyMatch(type -> type.getName().equals("test.application.spring.boot.TestSpringBootApplication")));
+        assertTrue(types.stream().anyMatch(type -> type.getName().equals("test.application.spring.boot.model.Customer")));
+    }
+
+    @Test
+    public void canFindHandlerMethodsInIndex() {
+        // given
+        IndexedClasspathScanner scanner = new IndexedClasspathScanner(new RecordingScanner(), TEST_INDEX);
+        scanner.setIndexOnly(true);
+        ClasspathIndex index = new ClasspathIndex(scanner);
+
+        // when
+        Set<Method> methods = index.getMethodsAnnotatedWith("test.application.spring.boot", RequestMapping.class);
+
+        // then
+        assertEquals(1, methods.size());
+        Method method = methods.iterator().next();
+        assertEquals("getCustomer", method.getName());
+        assertNotNull(method.getAnnotation(GetMapping.class));
+    }
+
+    @Test
+    public void canFallBackToScanningForPackagesNotInIndex() {
+        // given
+        RecordingScanner fallbackScanner = new RecordingScanner();
+        IndexedClasspathScanner scanner = new IndexedClasspathScanner(fallbackScanner, TEST_INDEX);
+
+        // when
+        scanner.scan("org.contextmapper.discovery.model");
+
+        // then
+        assertTrue(scanner.hasIndex());
+        assertEquals(1, fallbackScanner.scannedPackages.size());
+        assertEquals("org.contextmapper.discovery.model", fallbackScanner.scannedPackages.get(0));
+    }
+
+    private class RecordingScanner extends BytecodeClasspathScanner {
+        private List<String> scannedPackages = new ArrayList<>();
+        private Set<Path> skippedRoots;
+
+        @Override
+        public Collection<TypeDescriptor> scan(String packageName, Set<Path> skippedRoots) {
+            scannedPackages.add(packageName);
+            this.skippedRoots = skippedRoots;
+            return super.scan(packageName, skippedRoots);
+        }
+    }
+
+}
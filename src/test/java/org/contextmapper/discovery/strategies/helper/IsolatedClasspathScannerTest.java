@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.web.bind.annotation.RequestMapping;
+import test.application.spring.boot.TestSpringBootApplication;
+
+import java.net.URISyntaxException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IsolatedClasspathScannerTest {
+
+    @Test
+    public void canLoadTypesChildFirst() throws URISyntaxException {
+        // given
+        ClasspathIndex index = new ClasspathIndex(new IsolatedClasspathScanner(Collections.singletonList(getTestClasses())));
+
+        // when
+        Set<Class<?>> types = index.getTypesAnnotatedWith("test.application.spring.boot", SpringBootApplication.class);
+        index.close();
+
+        // then
+        assertEquals(1, types.size());
+        Class<?> type = types.iterator().next();
+        assertEquals(TestSpringBootApplication.class.getName(), type.getName());
+        assertNotSame(TestSpringBootApplication.class, type);
+        assertTrue(type.getClassLoader() instanceof ChildFirstClassLoader);
+    }
+
+    @Test
+    public void canShareFrameworkClassesWithParent() throws URISyntaxException, ClassNotFoundException {
+        // given
+        IsolatedClasspathScanner scanner = new IsolatedClasspathScanner(Collections.singletonList(getTestClasses()));
+
+        // when
+        Class<?> annotation = scanner.getClassLoader().loadClass(RequestMapping.class.getName());
+        Class<?> string = scanner.getClassLoader().loadClass(String.class.getName());
+        scanner.close();
+
+        // then
+        assertSame(RequestMapping.class, annotation);
+        assertSame(String.class, string);
+    }
+
+    @Test
+    public void cannotCreateScannerForMissingClasspathEntry() {
+        assertThrows(IllegalArgumentException.class, () -> new IsolatedClasspathScanner(Collections.singletonList(Paths.get("/does/not/exist.jar"))));
+    }
+
+    private Path getTestClasses() throws URISyntaxException {
+        return Paths.get(TestSpringBootApplication.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    }
+
+}
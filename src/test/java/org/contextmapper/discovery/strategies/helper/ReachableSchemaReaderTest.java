@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.yaml.snakeyaml.Yaml;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReachableSchemaReaderTest {
+
+    private static final String SPEC_LOCATION = "./src/test/resources/test/oas-tests/unreachable-schemas.yml";
+
+    @Test
+    public void canFindReachableSchemas() throws IOException {
+        // given
+        ReachableSchemaReader reader = new ReachableSchemaReader();
+
+        // when
+        Set<String> reachableSchemas = reader.findReachableSchemas(SPEC_LOCATION);
+
+        // then
+        assertEquals(Set.of("Customer", "Address", "CustomerInput", "TenantId"), reachableSchemas);
+    }
+
+    @Test
+    public void canRemoveUnreachableSchemas() throws IOException {
+        // given
+        ReachableSchemaReader reader = new ReachableSchemaReader();
+
+        // when
+        Map<String, Object> spec = new Yaml().load(reader.read(SPEC_LOCATION));
+
+        // then
+        Map<String, Object> components = (Map<String, Object>) spec.get("components");
+        Map<String, Object> schemas = (Map<String, Object>) components.get("schemas");
+        assertEquals(Set.of("Customer", "Address", "CustomerInput", "TenantId"), schemas.keySet());
+        assertTrue(components.containsKey("parameters"));
+        assertTrue(((Map<String, Object>) spec.get("paths")).containsKey("/customers"));
+        assertEquals("string", ((Map<String, Object>) schemas.get("TenantId")).get("type"));
+    }
+
+    @Test
+    public void canReadJsonSpecification(@TempDir Path tempDir) throws IOException {
+        // given
+        Path spec = tempDir.resolve("spec.json");
+        Files.writeString(spec, "{\"openapi\": \"3.0.1\", \"paths\": {\"/a\": {\"get\": {\"responses\": {\"200\": {\"content\": {\"application/json\": "
+                + "{\"schema\": {\"$ref\": \"#/components/schemas/A\"}}}}}}}}, \"components\": {\"schemas\": {\"A\": {\"type\": \"object\"}, "
+                + "\"B\": {\"type\": \"object\"}}}}");
+        ReachableSchemaReader reader = new ReachableSchemaReader();
+
+        // when
+        Map<String, Object> result = new Yaml().load(reader.read(spec.toString()));
+
+        // then
+        Map<String, Object> schemas = (Map<String, Object>) ((Map<String, Object>) result.get("components")).get("schemas");
+        assertEquals(Set.of("A"), schemas.keySet());
+    }
+
+}
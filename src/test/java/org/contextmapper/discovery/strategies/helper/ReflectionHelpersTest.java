@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReflectionHelpersTest {
+
+    @Test
+    public void canGetFieldsInDeclarationOrderWithInheritedFieldsFirst() {
+        // given
+        ReflectionHelpers helpers = new ReflectionHelpers();
+
+        // when
+        List<FieldDescriptor> descriptors = helpers.getFieldDescriptors(Order.class);
+
+        // then
+        assertEquals(List.of("id", "items", "tags", "number", "codes"), descriptors.stream().map(FieldDescriptor::getName).collect(Collectors.toList()));
+        assertEquals(List.of("id", "items", "tags", "number", "codes"), helpers.getAllFieldsOfType(Order.class).stream().map(f -> f.getName()).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void cachesFieldDescriptorsPerClass() {
+        // given
+        ReflectionHelpers helpers = new ReflectionHelpers();
+
+        // when
+        List<FieldDescriptor> first = helpers.getFieldDescriptors(Order.class);
+        List<FieldDescriptor> second = new ReflectionHelpers().getFieldDescriptors(Order.class);
+
+        // then
+        assertSame(first, second);
+        assertThrows(UnsupportedOperationException.class, () -> first.clear());
+    }
+
+    @Test
+    public void canResolveTypeVariablesOfSuperClass() {
+        // given
+        ReflectionHelpers helpers = new ReflectionHelpers();
+
+        // when
+        List<FieldDescriptor> descriptors = helpers.getFieldDescriptors(Order.class);
+
+        // then
+        FieldDescriptor id = descriptors.get(0);
+        assertNull(id.getCollectionType());
+        assertEquals(Long.class, id.getElementType());
+        FieldDescriptor items = descriptors.get(1);
+        assertEquals("List", items.getCollectionType());
+        assertEquals(Item.class, items.getElementType());
+        assertEquals("Item", items.getElementTypeName());
+    }
+
+    @Test
+    public void canDescribeCollectionsAndArrays() {
+        // given
+        ReflectionHelpers helpers = new ReflectionHelpers();
+
+        // when
+        List<FieldDescriptor> descriptors = helpers.getFieldDescriptors(Order.class);
+
+        // then
+        FieldDescriptor tags = descriptors.get(2);
+        assertEquals("Set", tags.getCollectionType());
+        assertEquals(Object.class, tags.getElementType());
+        FieldDescriptor codes = descriptors.get(4);
+        assertEquals("List", codes.getCollectionType());
+        assertEquals(String.class, codes.getElementType());
+        assertEquals("String", codes.getElementTypeName());
+    }
+
+    @Test
+    public void returnsNoFieldsForNull() {
+        // given
+        ReflectionHelpers helpers = new ReflectionHelpers();
+
+        // when
+        List<FieldDescriptor> descriptors = helpers.getFieldDescriptors(null);
+
+        // then
+        assertTrue(descriptors.isEmpty());
+    }
+
+    private static class Entity<ID, T> {
+        private ID id;
+        private List<T> items;
+    }
+
+    private static class Order extends Entity<Long, Item> {
+        private Set<?> tags;
+        private int number;
+        private String[] codes;
+    }
+
+    private static class Item {
+    }
+
+}
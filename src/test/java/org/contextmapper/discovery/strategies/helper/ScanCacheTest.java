@@ -0,0 +1,178 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import test.application.spring.boot.interfaces.CustomerInformationHolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScanCacheTest {
+
+    @Test
+    public void canReuseScanResultOfUnchangedEntry(@TempDir Path tempDir) throws IOException {
+        // given
+        Path entry = createEntry(tempDir, "content");
+        AtomicInteger scans = new AtomicInteger();
+        TypeDescriptor type = readCustomerInformationHolder();
+
+        // when
+        new ScanCache(tempDir.resolve("cache").toFile()).getOrScan(entry, "test", () -> {
+            scans.incrementAndGet();
+            return Collections.singletonList(type);
+        });
+        List<TypeDescriptor> cachedTypes = new ScanCache(tempDir.resolve("cache").toFile()).getOrScan(entry, "test", () -> {
+            scans.incrementAndGet();
+            return Collections.emptyList();
+        });
+
+        // then
+        assertEquals(1, scans.get());
+        assertEquals(1, cachedTypes.size());
+        TypeDescriptor cachedType = cachedTypes.get(0);
+        assertEquals(type.getName(), cachedType.getName());
+        assertEquals(type.getSuperName(), cachedType.getSuperName());
+        assertEquals(type.getAnnotationValues("org.springframework.web.bind.annotation.RequestMapping", "value"),
+                cachedType.getAnnotationValues("org.springframework.web.bind.annotation.RequestMapping", "value"));
+        assertEquals(type.getMethods().toString(), cachedType.getMethods().toString());
+        TypeDescriptor.Member getCustomers = cachedType.getMethods().stream().filter(m -> m.getName().equals("getCustomers")).findFirst().get();
+        assertNotNull(getCustomers.getSignature());
+        assertTrue(getCustomers.getAnnotationNames().contains("org.springframework.web.bind.annotation.GetMapping"));
+    }
+
+    @Test
+    public void canReuseScanResultIfOnlyModificationTimeChanged(@TempDir Path tempDir) throws IOException {
+        // given
+        Path entry = createEntry(tempDir, "content");
+        ScanCache cache = new ScanCache(tempDir.resolve("cache").toFile());
+        AtomicInteger scans = new AtomicInteger();
+        cache.getOrScan(entry, "test", () -> {
+            scans.incrementAndGet();
+            return Collections.emptyList();
+        });
+
+        // when
+        entry.toFile().setLastModified(entry.toFile().lastModified() - 60000);
+        cache.getOrScan(entry, "test", () -> {
+            scans.incrementAndGet();
+            return Collections.emptyList();
+        });
+
+        // then
+        assertEquals(1, scans.get());
+    }
+
+    @Test
+    public void updatesModificationTimeIfOnlyModificationTimeChanged(@TempDir Path tempDir) throws IOException {
+        // given
+        Path entry = createEntry(tempDir, "content");
+        ScanCache cache = new ScanCache(tempDir.resolve("cache").toFile());
+        AtomicInteger scans = new AtomicInteger();
+        cache.getOrScan(entry, "test", () -> {
+            scans.incrementAndGet();
+            return Collections.emptyList();
+        });
+        long lastModified = entry.toFile().lastModified() - 60000;
+        entry.toFile().setLastModified(lastModified);
+        cache.getOrScan(entry, "test", Collections::emptyList);
+
+        // when
+        createEntry(tempDir, "CONTENT");
+        entry.toFile().setLastModified(lastModified);
+        cache.getOrScan(entry, "test", () -> {
+            scans.incrementAndGet();
+            return Collections.emptyList();
+        });
+
+        // then (size and modification time are trusted again, the content is not hashed)
+        assertEquals(1, scans.get());
+    }
+
+    @Test
+    public void canRescanChangedEntry(@TempDir Path tempDir) throws IOException {
+        // given
+        Path entry = createEntry(tempDir, "content");
+        ScanCache cache = new ScanCache(tempDir.resolve("cache").toFile());
+        AtomicInteger scans = new AtomicInteger();
+        cache.getOrScan(entry, "test", () -> {
+            scans.incrementAndGet();
+            return Collections.emptyList();
+        });
+
+        // when
+        createEntry(tempDir, "changed content");
+        cache.getOrScan(entry, "test", () -> {
+            scans.incrementAndGet();
+            return Collections.emptyList();
+        });
+
+        // then
+        assertEquals(2, scans.get());
+    }
+
+    @Test
+    public void canRemoveCacheFilesOfRemovedEntries(@TempDir Path tempDir) throws IOException {
+        // given
+        Path entry = createEntry(tempDir, "content");
+        File cacheDirectory = tempDir.resolve("cache").toFile();
+        new ScanCache(cacheDirectory).getOrScan(entry, "test", Collections::emptyList);
+
+        // when
+        Files.delete(entry);
+        new ScanCache(cacheDirectory);
+
+        // then
+        assertEquals(0, cacheDirectory.listFiles().length);
+    }
+
+    @Test
+    public void canDiscoverWithScanCache(@TempDir Path tempDir) {
+        // given
+        BytecodeClasspathScanner scanner = new BytecodeClasspathScanner();
+        scanner.setScanCache(new ScanCache(tempDir.toFile()));
+
+        // when
+        new ClasspathIndex(scanner).getTypeDescriptorsAnnotatedWith("test.application.spring.boot", org.springframework.web.bind.annotation.RequestMapping.class);
+        ClasspathIndex cachedIndex = new ClasspathIndex(scanner);
+
+        // then
+        assertTrue(tempDir.toFile().listFiles().length > 0);
+        assertEquals(2, cachedIndex.getTypeDescriptorsAnnotatedWith("test.application.spring.boot", org.springframework.web.bind.annotation.RequestMapping.class).size());
+    }
+
+    private Path createEntry(Path directory, String content) throws IOException {
+        Path entry = directory.resolve("entry.jar");
+        Files.write(entry, content.getBytes());
+        return entry;
+    }
+
+    private TypeDescriptor readCustomerInformationHolder() throws IOException {
+        try (InputStream in = CustomerInformationHolder.class.getResourceAsStream("CustomerInformationHolder.class")) {
+            return new ClassFileReader().read(in);
+        }
+    }
+
+}
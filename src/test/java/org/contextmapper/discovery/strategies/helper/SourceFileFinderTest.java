@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SourceFileFinderTest {
+
+    @Test
+    public void canFindFilesAndSkipDefaultIgnoredDirectories(@TempDir Path tempDir) throws IOException {
+        // given
+        createFiles(tempDir, "a/app.yml", "a/b/app.yml", "a/other.yml", ".git/app.yml", "node_modules/x/app.yml", "target/app.yml");
+        SourceFileFinder finder = new SourceFileFinder(name -> name.equals("app.yml"));
+
+        // when
+        List<Path> files = finder.find(tempDir);
+
+        // then
+        assertEquals(Arrays.asList(tempDir.resolve("a/app.yml"), tempDir.resolve("a/b/app.yml")), files);
+    }
+
+    @Test
+    public void canUseCustomIgnoreGlobs(@TempDir Path tempDir) throws IOException {
+        // given
+        createFiles(tempDir, "a/app.yml", "a/generated/app.yml", "b/generated/app.yml", "target/app.yml");
+        SourceFileFinder finder = new SourceFileFinder(name -> name.equals("app.yml"));
+        finder.setIgnoreGlobs(Arrays.asList("a/generated"));
+
+        // when
+        List<Path> files = finder.find(tempDir);
+
+        // then
+        assertEquals(Arrays.asList(tempDir.resolve("a/app.yml"), tempDir.resolve("b/generated/app.yml"), tempDir.resolve("target/app.yml")), files);
+    }
+
+    @Test
+    public void canHonorGitignore(@TempDir Path tempDir) throws IOException {
+        // given
+        createFiles(tempDir, "app.yml", "out/app.yml", "docs/app.yml", "sub/app.yml", "sub/tmp/app.yml", "sub/local/app.yml");
+        Files.write(tempDir.resolve(".gitignore"), "# comment\nout/\n/docs\n!keep\n".getBytes());
+        Files.write(tempDir.resolve("sub/.gitignore"), "tmp\nlocal/app.yml\n".getBytes());
+        SourceFileFinder finder = new SourceFileFinder(name -> name.equals("app.yml"));
+        finder.setHonorGitignore(true);
+
+        // when
+        List<Path> files = finder.find(tempDir);
+
+        // then
+        assertEquals(Arrays.asList(tempDir.resolve("app.yml"), tempDir.resolve("sub/app.yml")), files);
+    }
+
+    @Test
+    public void canFindFilesInParallel(@TempDir Path tempDir) throws IOException {
+        // given
+        createFiles(tempDir, "app.yml", "a/app.yml", "a/b/app.yml", "c/app.yml", "c/out/app.yml", "build/app.yml");
+        Files.write(tempDir.resolve("c/.gitignore"), "out/\n".getBytes());
+        SourceFileFinder sequentialFinder = new SourceFileFinder(name -> name.equals("app.yml"));
+        sequentialFinder.setHonorGitignore(true);
+        SourceFileFinder parallelFinder = new SourceFileFinder(name -> name.equals("app.yml"));
+        parallelFinder.setHonorGitignore(true);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        parallelFinder.setForkJoinPool(pool);
+
+        // when
+        List<Path> files = parallelFinder.find(tempDir);
+        pool.shutdown();
+
+        // then
+        assertEquals(sequentialFinder.find(tempDir), files);
+        assertEquals(4, files.size());
+    }
+
+    @Test
+    public void emptyResultIfRootDoesNotExist(@TempDir Path tempDir) {
+        // given
+        SourceFileFinder finder = new SourceFileFinder(name -> true);
+
+        // when
+        List<Path> files = finder.find(tempDir.resolve("does-not-exist"));
+
+        // then
+        assertTrue(files.isEmpty());
+    }
+
+    private void createFiles(Path root, String... paths) throws IOException {
+        for (String path : paths) {
+            Path file = root.resolve(path);
+            Files.createDirectories(file.getParent());
+            Files.write(file, new byte[0]);
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.helper;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class UniqueNameAllocatorTest {
+
+    @Test
+    public void canAllocateFreeName() {
+        // given
+        UniqueNameAllocator allocator = new UniqueNameAllocator();
+
+        // when
+        String name = allocator.allocate("Customer");
+
+        // then
+        assertEquals("Customer", name);
+        assertTrue(allocator.isAllocated("Customer"));
+    }
+
+    @Test
+    public void canAllocateNamesWithSuffixes() {
+        // given
+        UniqueNameAllocator allocator = new UniqueNameAllocator();
+
+        // when
+        allocator.allocate("Dto");
+        String second = allocator.allocate("Dto");
+        String third = allocator.allocate("Dto");
+
+        // then
+        assertEquals("Dto_1", second);
+        assertEquals("Dto_2", third);
+    }
+
+    @Test
+    public void canSkipNamesAllocatedDirectly() {
+        // given
+        UniqueNameAllocator allocator = new UniqueNameAllocator();
+        allocator.allocate("Dto");
+        allocator.allocate("Dto_1");
+
+        // when
+        String name = allocator.allocate("Dto");
+
+        // then
+        assertEquals("Dto_2", name);
+    }
+
+    @Test
+    public void canAllocateQualifiedNames() {
+        // given
+        UniqueNameAllocator allocator = new UniqueNameAllocator();
+
+        // when
+        String first = allocator.allocate("CustomerId", "customers");
+        String second = allocator.allocate("CustomerId", "customers");
+        String third = allocator.allocate("CustomerId", "customers");
+        String fourth = allocator.allocate("CustomerId", "customers");
+
+        // then
+        assertEquals("CustomerId", first);
+        assertEquals("customers_CustomerId", second);
+        assertEquals("customers_CustomerId_1", third);
+        assertEquals("customers_CustomerId_2", fourth);
+    }
+
+    @Test
+    public void canAllocateManyNamesWithBoundedLength() {
+        // given
+        UniqueNameAllocator allocator = new UniqueNameAllocator();
+
+        // when
+        String name = null;
+        for (int i = 0; i < 10000; i++) {
+            name = allocator.allocate("Response", "aggregate");
+        }
+
+        // then
+        assertEquals("aggregate_Response_9998", name);
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.names;
+
+import org.contextmapper.discovery.ContextMapDiscoverer;
+import org.contextmapper.discovery.model.BoundedContext;
+import org.contextmapper.discovery.strategies.boundedcontexts.AbstractBoundedContextDiscoveryStrategy;
+import org.contextmapper.discovery.strategies.boundedcontexts.BoundedContextDiscoveryStrategy;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ChainedBoundedContextNameMappingStrategyTest {
+
+    @Test
+    public void canChainNameMappingStrategies() {
+        // given
+        ChainedBoundedContextNameMappingStrategy strategy = new ChainedBoundedContextNameMappingStrategy(
+                new SeparatorToCamelCaseBoundedContextNameMappingStrategy("-"),
+                new SuffixRemovingBoundedContextNameMappingStrategy("Backend"));
+
+        // when
+        String boundedContextName = strategy.mapBoundedContextName("customer-core-backend");
+
+        // then
+        assertEquals("CustomerCore", boundedContextName);
+    }
+
+    @Test
+    public void canMemoizeMappedNames() {
+        // given
+        AtomicInteger mappings = new AtomicInteger();
+        ChainedBoundedContextNameMappingStrategy strategy = new ChainedBoundedContextNameMappingStrategy(name -> {
+            mappings.incrementAndGet();
+            return name.toUpperCase();
+        });
+
+        // when
+        strategy.mapBoundedContextName("a");
+        strategy.mapBoundedContextName("b");
+        String boundedContextName = strategy.mapBoundedContextName("a");
+
+        // then
+        assertEquals("A", boundedContextName);
+        assertEquals(2, mappings.get());
+    }
+
+    @Test
+    public void canMapBoundedContextsInDiscoverer() {
+        // given
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(new TestDiscoveryStrategy("CustomerCore", "PolicyManagement"))
+                .usingBoundedContextNameMappingStrategies(new ChainedBoundedContextNameMappingStrategy(
+                        new SeparatorToCamelCaseBoundedContextNameMappingStrategy("-"),
+                        new SuffixRemovingBoundedContextNameMappingStrategy("Backend")));
+
+        // when
+        discoverer.discoverContextMap();
+        BoundedContext bc = discoverer.lookupBoundedContext("customer-core-backend");
+
+        // then
+        assertNotNull(bc);
+        assertEquals("CustomerCore", bc.getName());
+    }
+
+    @Test
+    public void canMatchNormalizedNamesInDiscoverer() {
+        // given
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(new TestDiscoveryStrategy("CustomerCore", "policy_management", "Risk-Management", "RISKMANAGEMENT"))
+                .usingBoundedContextNameMappingStrategies(new SuffixRemovingBoundedContextNameMappingStrategy("-backend"))
+                .usingFuzzyNameMatching();
+
+        // when
+        discoverer.discoverContextMap();
+
+        // then
+        assertEquals("CustomerCore", discoverer.lookupBoundedContext("customer-core-backend").getName());
+        assertEquals("policy_management", discoverer.lookupBoundedContext("PolicyManagement").getName());
+        assertNull(discoverer.lookupBoundedContext("risk-management"));
+        assertNull(discoverer.lookupBoundedContext("customer-management"));
+    }
+
+    @Test
+    public void doesNotMatchNormalizedNamesByDefault() {
+        // given
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(new TestDiscoveryStrategy("CustomerCore"));
+
+        // when
+        discoverer.discoverContextMap();
+
+        // then
+        assertNull(discoverer.lookupBoundedContext("customer-core"));
+    }
+
+    private class TestDiscoveryStrategy extends AbstractBoundedContextDiscoveryStrategy implements BoundedContextDiscoveryStrategy {
+        private final String[] names;
+
+        TestDiscoveryStrategy(String... names) {
+            this.names = names;
+        }
+
+        @Override
+        public Set<BoundedContext> discoverBoundedContexts() {
+            Set<BoundedContext> bcs = new HashSet<>();
+            for (String name : names) {
+                bcs.add(new BoundedContext(name));
+            }
+            return bcs;
+        }
+    }
+
+}
@@ -49,7 +49,32 @@ public class SeparatorToCamelCaseBoundedContextNameMappingStrategyTest {
                 Arguments.of("a-b", "AB"),
                 Arguments.of("example-context", "ExampleContext"),
                 Arguments.of("a-example-context", "AExampleContext"),
-                Arguments.of("example", "Example"));
+                Arguments.of("example", "Example"),
+                Arguments.of("-example--context-", "ExampleContext"));
+    }
+
+    @Test
+    public void canUseRegularExpressionAsSeparator() {
+        // given
+        SeparatorToCamelCaseBoundedContextNameMappingStrategy strategy = new SeparatorToCamelCaseBoundedContextNameMappingStrategy("[-_]");
+
+        // when
+        String boundedContextName = strategy.mapBoundedContextName("example_context-name");
+
+        // then
+        assertEquals("ExampleContextName", boundedContextName);
+    }
+
+    @Test
+    public void canUseSeparatorLiterally() {
+        // given
+        SeparatorToCamelCaseBoundedContextNameMappingStrategy strategy = SeparatorToCamelCaseBoundedContextNameMappingStrategy.literal(".");
+
+        // when
+        String boundedContextName = strategy.mapBoundedContextName("example.context..name.");
+
+        // then
+        assertEquals("ExampleContextName", boundedContextName);
     }
 
     @Test
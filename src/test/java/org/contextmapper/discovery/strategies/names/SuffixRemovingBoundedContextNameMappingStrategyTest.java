@@ -0,0 +1,50 @@
+/*
+ * Copyright 2019 The Context Mapper Project Team
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.contextmapper.discovery.strategies.names;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SuffixRemovingBoundedContextNameMappingStrategyTest {
+
+    @ParameterizedTest
+    @MethodSource("createMappingTestParameters")
+    public void canMapBoundedContextName(String inputName, String expectedName) {
+        // given
+        SuffixRemovingBoundedContextNameMappingStrategy strategy = new SuffixRemovingBoundedContextNameMappingStrategy("Backend", "Service");
+
+        // when
+        String boundedContextName = strategy.mapBoundedContextName(inputName);
+
+        // then
+        assertEquals(expectedName, boundedContextName);
+    }
+
+    private static Stream<Arguments> createMappingTestParameters() {
+        return Stream.of(Arguments.of("", ""),
+                Arguments.of("Backend", "Backend"),
+                Arguments.of("CustomerCoreBackend", "CustomerCore"),
+                Arguments.of("PolicyService", "Policy"),
+                Arguments.of("BackendService", "Backend"),
+                Arguments.of("CustomerCore", "CustomerCore"));
+    }
+
+}
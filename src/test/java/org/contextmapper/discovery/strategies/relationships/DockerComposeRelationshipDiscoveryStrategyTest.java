@@ -28,6 +28,9 @@ import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.File;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -82,6 +85,76 @@ public class DockerComposeRelationshipDiscoveryStrategyTest {
                 "(discovery strategy simply added all Aggregates).", relationship.getExposedAggregatesComment());
     }
 
+    @Test
+    public void canDiscoverRelationshipInComposeFileVariants() {
+        // given
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(
+                        new SpringBootBoundedContextDiscoveryStrategy("test.microservice.spring.boot"))
+                .usingRelationshipDiscoveryStrategies(
+                        new DockerComposeRelationshipDiscoveryStrategy(new File("./src/test/resources/test/docker/compose/variants")))
+                .usingBoundedContextNameMappingStrategies(
+                        new SeparatorToCamelCaseBoundedContextNameMappingStrategy("-")
+                );
+
+        // when
+        ContextMap contextmap = discoverer.discoverContextMap();
+
+        // then
+        assertEquals(1, contextmap.getRelationships().size());
+        Relationship relationship = contextmap.getRelationships().iterator().next();
+        assertEquals("Microservice1", relationship.getUpstream().getName());
+        assertEquals("Microservice2", relationship.getDownstream().getName());
+    }
+
+    @Test
+    public void canSearchIgnoredDirectoriesIfIgnoreGlobsAreOverridden() {
+        // given
+        ForkJoinPool pool = new ForkJoinPool(2);
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(
+                        new SpringBootBoundedContextDiscoveryStrategy("test.microservice.spring.boot"))
+                .usingRelationshipDiscoveryStrategies(
+                        new DockerComposeRelationshipDiscoveryStrategy(new File("./src/test/resources/test/docker/compose/variants"))
+                                .usingIgnoreGlobs(".git")
+                                .usingParallelSearch(pool))
+                .usingBoundedContextNameMappingStrategies(
+                        new SeparatorToCamelCaseBoundedContextNameMappingStrategy("-")
+                );
+
+        // when
+        ContextMap contextmap = discoverer.discoverContextMap();
+        pool.shutdown();
+
+        // then
+        assertEquals(2, contextmap.getRelationships().size());
+    }
+
+    @Test
+    public void canDiscoverRelationshipWithLongDependsOnSyntaxInParallel() {
+        // given
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        ContextMapDiscoverer discoverer = new ContextMapDiscoverer()
+                .usingBoundedContextDiscoveryStrategies(
+                        new SpringBootBoundedContextDiscoveryStrategy("test.microservice.spring.boot"))
+                .usingRelationshipDiscoveryStrategies(
+                        new DockerComposeRelationshipDiscoveryStrategy(new File("./src/test/resources/test/docker/compose"))
+                                .usingParallelParsing(executor))
+                .usingBoundedContextNameMappingStrategies(
+                        new SeparatorToCamelCaseBoundedContextNameMappingStrategy("-")
+                );
+
+        // when
+        ContextMap contextmap = discoverer.discoverContextMap();
+        executor.shutdown();
+
+        // then
+        assertEquals(1, contextmap.getRelationships().size());
+        Relationship relationship = contextmap.getRelationships().iterator().next();
+        assertEquals("Microservice1", relationship.getUpstream().getName());
+        assertEquals("Microservice2", relationship.getDownstream().getName());
+    }
+
     @ParameterizedTest
     @MethodSource("noServicesDockerComposeFiles")
     public void emptyResultIfDockerComposeFileDoesNotContainServices(String sourcePath) {